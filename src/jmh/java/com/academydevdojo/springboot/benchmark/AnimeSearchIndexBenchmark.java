@@ -0,0 +1,98 @@
+package com.academydevdojo.springboot.benchmark;
+
+import static org.mockito.Mockito.mock;
+
+import com.academydevdojo.springboot.event.AnimeChangedEvent;
+import com.academydevdojo.springboot.event.AnimeChangedEvent.Type;
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.academydevdojo.springboot.service.AnimeSearchIndex;
+import com.academydevdojo.springboot.wrapper.AnimeSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Fuzzy search latency over a synthetic catalog. Titles are two to four pseudo-words drawn with a
+ * skewed distribution from a vocabulary of the given size; the small vocabulary is a worst case
+ * where every trigram has very long postings. The titles the queries aim at are always present.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AnimeSearchIndexBenchmark {
+
+    private static final String[] SYLLABLES = {
+        "ka", "ki", "ku", "ke", "ko", "sa", "shi", "su", "se", "so", "ta", "chi", "tsu", "te", "to",
+        "na", "ni", "nu", "ne", "no", "ha", "hi", "fu", "he", "ho", "ma", "mi", "mu", "me", "mo",
+        "ya", "yu", "yo", "ra", "ri", "ru", "re", "ro", "wa", "n", "ga", "gi", "go", "za", "ji",
+        "da", "de", "do", "ba", "bi", "bu", "be", "bo", "pa", "pi", "pu", "kyo", "ryu", "sho", "jin"
+    };
+
+    private static final String[] TARGETS = {"Steins;Gate", "Naruto Shippuden", "Fullmetal Alchemist: Brotherhood"};
+
+    @Param("1000000")
+    private int titles;
+
+    @Param({"20000", "64"})
+    private int vocabulary;
+
+    @Param({"stiens gate", "naurto shipuden", "fullmetal alchemist brotherhood", "x"})
+    private String query;
+
+    private AnimeSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        index = new AnimeSearchIndex(mock(AnimeRepository.class), mock(EntityManager.class),
+            mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+        Random random = new Random(42);
+        String[] words = new String[vocabulary];
+        for (int i = 0; i < vocabulary; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int syllables = 2 + random.nextInt(3); syllables > 0; syllables--) {
+                word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            words[i] = word.toString();
+        }
+
+        for (int id = 1; id <= TARGETS.length; id++) {
+            index.onAnimeChanged(new AnimeChangedEvent(Type.CREATED, id, TARGETS[id - 1]));
+        }
+        for (int id = TARGETS.length + 1; id <= titles; id++) {
+            StringBuilder name = new StringBuilder(pick(words, random));
+            for (int extraWords = 1 + random.nextInt(3); extraWords > 0; extraWords--) {
+                name.append(' ').append(pick(words, random));
+            }
+            index.onAnimeChanged(new AnimeChangedEvent(Type.CREATED, id, name.toString()));
+        }
+    }
+
+    @Benchmark
+    public List<AnimeSummary> search() {
+        return index.search(query, 10);
+    }
+
+    private static String pick(String[] words, Random random) {
+        return words[(int) (words.length * Math.pow(random.nextDouble(), 3))];
+    }
+}
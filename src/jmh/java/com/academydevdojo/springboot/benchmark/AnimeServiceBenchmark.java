@@ -0,0 +1,150 @@
+package com.academydevdojo.springboot.benchmark;
+
+import com.academydevdojo.springboot.config.CachingConfig;
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.academydevdojo.springboot.repository.AnimeTombstoneRepository;
+import com.academydevdojo.springboot.service.AnimeService;
+import com.academydevdojo.springboot.service.LookupCoalescer;
+import com.academydevdojo.springboot.service.MissingAnimeIds;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * {@link AnimeService} reads, either on a bare service over a stub repository, which isolates
+ * the service code, or on the Spring bean of the real application over H2, which adds the cache,
+ * transaction and repository proxies and the JDBC round trip. The call paths through Spring are
+ * long, hence the extra warmup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnimeServiceBenchmark {
+
+    private static final int ANIMES = 1000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"mock", "h2"})
+    private String backend;
+
+    private ConfigurableApplicationContext context;
+    private AnimeService animeService;
+    private Cache animeCache;
+    private int[] ids;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        List<Anime> animes = IntStream.rangeClosed(1, ANIMES)
+            .mapToObj(id -> Anime.builder().name("Anime " + id).build())
+            .collect(Collectors.toList());
+
+        if ("h2".equals(backend)) {
+            context = BenchmarkContexts.start(WebApplicationType.NONE);
+            animes = context.getBean(AnimeRepository.class).saveAll(animes);
+            animeService = context.getBean(AnimeService.class);
+            animeCache = context.getBean(CacheManager.class).getCache(CachingConfig.ANIMES);
+        } else {
+            for (int i = 0; i < animes.size(); i++) {
+                animes.get(i).setId(i + 1);
+            }
+            animeService = new AnimeService(stubRepository(animes), stub(AnimeTombstoneRepository.class),
+                new LookupCoalescer(new SimpleMeterRegistry()),
+                new MissingAnimeIds(new StaticListableBeanFactory().getBeanProvider(CacheManager.class)),
+                event -> { });
+        }
+        ids = animes.stream().mapToInt(Anime::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public Anime findById() {
+        return animeService.findById(nextId());
+    }
+
+    @Benchmark
+    public Anime findByIdCacheMiss() {
+        int id = nextId();
+        if (animeCache != null) {
+            animeCache.evict(id);
+        }
+        return animeService.findById(id);
+    }
+
+    @Benchmark
+    public Page<Anime> listAll() {
+        return animeService.listAll(PageRequest.of(next++ % (ANIMES / PAGE_SIZE), PAGE_SIZE));
+    }
+
+    /**
+     * A JDK proxy rather than a Mockito mock, whose invocation bookkeeping would dominate the
+     * numbers.
+     */
+    private static AnimeRepository stubRepository(List<Anime> animes) {
+
+        Optional<Anime> anime = Optional.of(animes.get(0));
+        Page<Anime> page = new PageImpl<>(animes.subList(0, PAGE_SIZE), PageRequest.of(0, PAGE_SIZE), ANIMES);
+
+        return (AnimeRepository) Proxy.newProxyInstance(AnimeRepository.class.getClassLoader(),
+            new Class<?>[]{AnimeRepository.class}, (proxy, method, arguments) -> {
+                switch (method.getName()) {
+                    case "findDetachedById":
+                        return anime;
+                    case "findDetachedBy":
+                        return page;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+
+    /**
+     * A repository the measured reads never reach.
+     */
+    private static <T> T stub(Class<T> type) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+            (proxy, method, arguments) -> {
+                throw new UnsupportedOperationException(method.getName());
+            }));
+    }
+
+    private int nextId() {
+        return ids[next++ % ids.length];
+    }
+}
@@ -0,0 +1,39 @@
+package com.academydevdojo.springboot.benchmark;
+
+import com.academydevdojo.springboot.SpringbootApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts the real application against an in-memory H2 database with SQL logging turned off, so
+ * benchmarks measure the application rather than the console.
+ */
+final class BenchmarkContexts {
+
+    // passed as command line arguments, since default properties lose to application.yml
+    private static final String[] H2_ARGUMENTS = {
+        "--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+        "--spring.datasource.driver-class-name=org.h2.Driver",
+        "--spring.datasource.username=sa",
+        "--spring.datasource.password=",
+        "--spring.jpa.hibernate.ddl-auto=create-drop",
+        "--spring.jpa.show-sql=false",
+        "--spring.jpa.properties.hibernate.format_sql=false",
+        "--logging.level.root=WARN",
+        "--logging.level.org.hibernate.SQL=WARN",
+        "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN",
+        "--server.port=0",
+        "--anime.security.token.ttl=1h"
+    };
+
+    private BenchmarkContexts() {
+    }
+
+    static ConfigurableApplicationContext start(WebApplicationType webApplicationType) {
+        return new SpringApplicationBuilder(SpringbootApplication.class)
+            .web(webApplicationType)
+            .logStartupInfo(false)
+            .run(H2_ARGUMENTS);
+    }
+}
@@ -0,0 +1,88 @@
+package com.academydevdojo.springboot.benchmark;
+
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Pages of 1000 animes read the way a request reads them: inside an entity manager bound for the
+ * whole call, as open-in-view does, then closed. {@code managed} goes through the inherited
+ * {@code findAll}, {@code detached} through the constructor expression of the read path. Run with
+ * {@code -prof gc} to compare the allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DetachedPageBenchmark {
+
+    private static final int ANIMES = 5000;
+    private static final int PAGE_SIZE = 1000;
+
+    @Param({"managed", "detached"})
+    private String path;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private AnimeRepository animeRepository;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        context = BenchmarkContexts.start(WebApplicationType.NONE);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        animeRepository = context.getBean(AnimeRepository.class);
+        animeRepository.saveAll(IntStream.rangeClosed(1, ANIMES)
+            .mapToObj(id -> Anime.builder().name("Anime " + id).build())
+            .collect(Collectors.toList()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Anime> page() {
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            PageRequest pageRequest = PageRequest.of(next++ % (ANIMES / PAGE_SIZE), PAGE_SIZE);
+            Page<Anime> page = "detached".equals(path)
+                ? animeRepository.findDetachedBy(pageRequest)
+                : animeRepository.findAll(pageRequest);
+            return page.getContent();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+}
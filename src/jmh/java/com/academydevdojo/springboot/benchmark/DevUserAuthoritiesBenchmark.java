@@ -0,0 +1,51 @@
+package com.academydevdojo.springboot.benchmark;
+
+import com.academydevdojo.springboot.domain.DevUser;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * {@link DevUser#getAuthorities()} splits the stored string on every call, and Spring Security
+ * calls it at least once per authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DevUserAuthoritiesBenchmark {
+
+    @Param({"ROLE_USER", "ROLE_ADMIN,ROLE_USER"})
+    private String authorities;
+
+    private DevUser devUser;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        devUser = DevUser.builder()
+            .name("Diogo Costa")
+            .username("diogo")
+            .password("{noop}academy")
+            .authorities(authorities)
+            .build();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return devUser.getAuthorities();
+    }
+}
@@ -0,0 +1,99 @@
+package com.academydevdojo.springboot.benchmark;
+
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.wrapper.LeanPage;
+import com.academydevdojo.springboot.wrapper.PageableResponse;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Jackson cost of the paged list response, written as the server does and read back as
+ * {@link PageableResponse} the way the HTTP client does, against the same page as a counted
+ * {@link LeanPage}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    private static final TypeReference<PageableResponse<Anime>> PAGEABLE_RESPONSE =
+        new TypeReference<PageableResponse<Anime>>() {
+        };
+    private static final TypeReference<LeanPage<Anime>> LEAN_PAGE =
+        new TypeReference<LeanPage<Anime>>() {
+        };
+
+    @Param({"20", "1000"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<Anime> page;
+    private PageableResponse<Anime> pageableResponse;
+    private byte[] pageJson;
+    private LeanPage<Anime> leanPage;
+    private byte[] leanPageJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        List<Anime> animes = IntStream.rangeClosed(1, pageSize)
+            .mapToObj(id -> Anime.builder().id(id).name("Anime " + id).build())
+            .collect(Collectors.toList());
+        page = new PageImpl<>(animes, PageRequest.of(0, pageSize), pageSize * 10L);
+        pageJson = objectMapper.writeValueAsBytes(page);
+        pageableResponse = objectMapper.readValue(pageJson, PAGEABLE_RESPONSE);
+        leanPage = LeanPage.of(page);
+        leanPageJson = objectMapper.writeValueAsBytes(leanPage);
+    }
+
+    @Benchmark
+    public byte[] writePage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writePageableResponse() throws IOException {
+        return objectMapper.writeValueAsBytes(pageableResponse);
+    }
+
+    @Benchmark
+    public PageableResponse<Anime> readPageableResponse() throws IOException {
+        return objectMapper.readValue(pageJson, PAGEABLE_RESPONSE);
+    }
+
+    @Benchmark
+    public byte[] writeLeanPage() throws IOException {
+        return objectMapper.writeValueAsBytes(leanPage);
+    }
+
+    @Benchmark
+    public LeanPage<Anime> readLeanPage() throws IOException {
+        return objectMapper.readValue(leanPageJson, LEAN_PAGE);
+    }
+}
@@ -0,0 +1,96 @@
+package com.academydevdojo.springboot.benchmark;
+
+import com.academydevdojo.springboot.security.TokenService;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.Filter;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+/**
+ * Runs the {@code springSecurityFilterChain} of the real application in front of a no-op
+ * servlet, so only the cost of the security filters is measured: HTTP Basic with a cached
+ * authentication, a bearer token, and an anonymous request that gets rejected.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecurityFilterChainBenchmark {
+
+    private static final FilterChain SERVLET = (request, response) -> {
+    };
+
+    private ConfigurableApplicationContext context;
+    private Filter springSecurityFilterChain;
+    private String basicAuthorization;
+    private String bearerAuthorization;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+
+        context = BenchmarkContexts.start(WebApplicationType.SERVLET);
+        springSecurityFilterChain = context.getBean("springSecurityFilterChain", Filter.class);
+
+        basicAuthorization = "Basic " + Base64.getEncoder()
+            .encodeToString("Diogo:academy".getBytes(StandardCharsets.UTF_8));
+        bearerAuthorization = "Bearer " + context.getBean(TokenService.class)
+            .issue(new UsernamePasswordAuthenticationToken("Diogo", null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"), new SimpleGrantedAuthority("ROLE_USER"))));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int basicAuthentication() throws IOException, ServletException {
+        return filter(basicAuthorization);
+    }
+
+    @Benchmark
+    public int bearerToken() throws IOException, ServletException {
+        return filter(bearerAuthorization);
+    }
+
+    @Benchmark
+    public int anonymous() throws IOException, ServletException {
+        return filter(null);
+    }
+
+    private int filter(String authorization) throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/animes/1");
+        request.setServletPath("/v1/animes/1");
+        if (authorization != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        springSecurityFilterChain.doFilter(request, response, SERVLET);
+        return response.getStatus();
+    }
+}
@@ -1,7 +1,8 @@
 package com.academydevdojo.springboot.clientHttp;
 
 import com.academydevdojo.springboot.domain.Anime;
-import com.academydevdojo.springboot.wrapper.PageableResponse;
+import com.academydevdojo.springboot.wrapper.LeanPage;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
@@ -18,8 +19,8 @@ public class SpringClient {
 //        testGetWithRestTemplate();
 
         //@formatter:off
-        ResponseEntity<PageableResponse<Anime>> exchangeAnimeList = new RestTemplate()
-            .exchange("http://localhost:8080/animes?sort=name,desc", HttpMethod.GET, null, new ParameterizedTypeReference<PageableResponse<Anime>>() {});
+        ResponseEntity<LeanPage<Anime>> exchangeAnimeList = new RestTemplate()
+            .exchange("http://localhost:8080/v1/animes?sort=name,desc&count=false", HttpMethod.GET, new HttpEntity<>(createLeanPageHeader()), new ParameterizedTypeReference<LeanPage<Anime>>() {});
         //@formatter:on
 
         log.info("Anime list {} ", exchangeAnimeList.getBody());
@@ -60,6 +61,12 @@ public class SpringClient {
         return httpHeaders;
     }
 
+    private static HttpHeaders createLeanPageHeader() {
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setAccept(List.of(LeanPage.MEDIA_TYPE));
+        return httpHeaders;
+    }
+
     private static void testGetWithRestTemplate() {
         ResponseEntity<Anime> animeResponseEntity = new RestTemplate()
             .getForEntity("http://localhost:8080/animes/{id}", Anime.class, 2);
@@ -0,0 +1,51 @@
+package com.academydevdojo.springboot.config;
+
+import com.academydevdojo.springboot.domain.Anime;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.Collections;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CachingConfig {
+
+    public static final String ANIMES = "animes";
+    public static final String AUTHENTICATIONS = "authentications";
+    public static final String MISSING_ANIMES = "missingAnimes";
+
+    /**
+     * Only the caches registered here exist, each with its own Caffeine spec. The proxy defers
+     * puts and evictions until the surrounding transaction commits, so a writer never evicts
+     * before its change is visible. Reads such as {@code findById} run outside a transaction, so
+     * one that loaded a row before a concurrent write committed could put it back after that
+     * write's evict; the anime cache is an {@link EvictionAwareCaffeineCache}, which drops such
+     * puts. The racing read itself may still return the row as it was before the write.
+     */
+    @Bean
+    public CacheManager cacheManager(@Value("${anime.cache.animes.spec}") String animesSpec,
+        @Value("${anime.cache.authentications.spec}") String authenticationsSpec,
+        @Value("${anime.cache.missing-animes.spec}") String missingAnimesSpec) {
+
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return ANIMES.equals(name)
+                    ? new EvictionAwareCaffeineCache(name, cache, isAllowNullValues(), anime -> ((Anime) anime).copy())
+                    : super.adaptCaffeineCache(name, cache);
+            }
+        };
+        caffeineCacheManager.setCacheNames(Collections.emptyList());
+        caffeineCacheManager.registerCustomCache(ANIMES, Caffeine.from(animesSpec).build());
+        caffeineCacheManager.registerCustomCache(AUTHENTICATIONS, Caffeine.from(authenticationsSpec).build());
+        caffeineCacheManager.registerCustomCache(MISSING_ANIMES, Caffeine.from(missingAnimesSpec).build());
+
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,131 @@
+package com.academydevdojo.springboot.config;
+
+import java.util.concurrent.Callable;
+import java.util.function.UnaryOperator;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * A Caffeine cache whose loads never put back a value an eviction was meant to remove. Keys are
+ * spread over stripes that count the loads in flight; an eviction while any of them runs marks the
+ * stripe, and no load that overlapped it puts its value until they have all finished. Loads that
+ * joined a coalesced lookup started before the eviction are covered as well, since that lookup
+ * is still in flight when they start.
+ *
+ * <p>Only {@code @Cacheable(sync = true)} reads load through {@link #get(Object, Callable)}. A load
+ * runs outside the cache's own locking, so a slow query does not hold up other keys.
+ *
+ * <p>Values are copied into and out of the cache, so no two callers share a mutable instance;
+ * each hit costs one copy.
+ */
+class EvictionAwareCaffeineCache extends CaffeineCache {
+
+    private static final int STRIPES = 256;
+
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private final UnaryOperator<Object> copy;
+
+    EvictionAwareCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+        boolean allowNullValues, UnaryOperator<Object> copy) {
+
+        super(name, cache, allowNullValues);
+        this.copy = copy;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.loading++;
+        }
+        T value = null;
+        boolean loaded = false;
+        try {
+            value = valueLoader.call();
+            loaded = true;
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        } finally {
+            synchronized (stripe) {
+                if (loaded && !stripe.evicted) {
+                    put(key, value);
+                }
+                if (--stripe.loading == 0) {
+                    stripe.evicted = false;
+                }
+            }
+        }
+        return value;
+    }
+
+    @Override
+    protected Object toStoreValue(Object userValue) {
+        return super.toStoreValue(userValue == null ? null : copy.apply(userValue));
+    }
+
+    @Override
+    protected Object fromStoreValue(Object storeValue) {
+        Object value = super.fromStoreValue(storeValue);
+        return value == null ? null : copy.apply(value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.evicted |= stripe.loading > 0;
+            super.evict(key);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        Stripe stripe = stripe(key);
+        synchronized (stripe) {
+            stripe.evicted |= stripe.loading > 0;
+            return super.evictIfPresent(key);
+        }
+    }
+
+    @Override
+    public void clear() {
+        markLoadingStripes();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        markLoadingStripes();
+        return super.invalidate();
+    }
+
+    /**
+     * Marked before the entries go, so a load finishing in between cannot put after the clear.
+     */
+    private void markLoadingStripes() {
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.evicted |= stripe.loading > 0;
+            }
+        }
+    }
+
+    private Stripe stripe(Object key) {
+        int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)];
+    }
+
+    private static final class Stripe {
+        int loading;
+        boolean evicted;
+    }
+}
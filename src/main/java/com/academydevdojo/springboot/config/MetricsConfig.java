@@ -0,0 +1,39 @@
+package com.academydevdojo.springboot.config;
+
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.aop.aspectj.MethodInvocationProceedingJoinPoint;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class MetricsConfig {
+
+    public static final String SERVICE_CALLS = "anime.service.calls";
+
+    /**
+     * Records every {@code @Timed} method, tagged with its class and method name only, so the
+     * series stay bounded whatever the arguments are. The aspect runs as the outermost advisor:
+     * registered as a plain aspect it would sit inside the cache and transaction interceptors and
+     * miss both cache hits and the flush at commit.
+     */
+    @Bean
+    public Advisor timedAdvisor(MeterRegistry meterRegistry) {
+
+        TimedAspect timedAspect = new TimedAspect(meterRegistry);
+        MethodInterceptor interceptor = invocation -> timedAspect.timedMethod(
+            new MethodInvocationProceedingJoinPoint((ProxyMethodInvocation) invocation));
+
+        DefaultPointcutAdvisor advisor = new DefaultPointcutAdvisor(
+            new AnnotationMatchingPointcut(null, Timed.class, true), interceptor);
+        advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return advisor;
+    }
+}
@@ -1,8 +1,15 @@
 package com.academydevdojo.springboot.config;
 
+import com.academydevdojo.springboot.security.CachingAuthenticationManager;
+import com.academydevdojo.springboot.security.TokenAuthenticationFilter;
+import com.academydevdojo.springboot.security.TokenService;
 import com.academydevdojo.springboot.service.DevUserDetailsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -10,6 +17,7 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.crypto.factory.PasswordEncoderFactories;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 
 
 @EnableWebSecurity
@@ -19,11 +27,15 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     private final DevUserDetailsService service;
+    private final CacheManager cacheManager;
+    private final TokenService tokenService;
 
     @Override
     protected void configure(HttpSecurity http) throws Exception {
         http.csrf().disable()
+            .addFilterBefore(new TokenAuthenticationFilter(tokenService), BasicAuthenticationFilter.class)
             .authorizeRequests()
+            .antMatchers(HttpMethod.POST, "/v1/auth/login").permitAll()
             .antMatchers("/v1/animes/admin/**").hasRole("ADMIN")
             .antMatchers("/v1/animes/**").hasRole("USER")
             .antMatchers("/actuator/**").permitAll()
@@ -52,4 +64,16 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
         auth.userDetailsService(service)
             .passwordEncoder(passwordEncoder);
     }
+
+    @Bean
+    @Override
+    public AuthenticationManager authenticationManagerBean() throws Exception {
+        return super.authenticationManagerBean();
+    }
+
+    @Override
+    protected AuthenticationManager authenticationManager() throws Exception {
+        return new CachingAuthenticationManager(super.authenticationManager(),
+            cacheManager.getCache(CachingConfig.AUTHENTICATIONS));
+    }
 }
@@ -2,21 +2,46 @@ package com.academydevdojo.springboot.controller;
 
 
 import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.requests.AnimeBulkDeleteRequestBody;
+import com.academydevdojo.springboot.requests.AnimePatchRequestBody;
+import com.academydevdojo.springboot.service.AnimeBulkDeleteService;
+import com.academydevdojo.springboot.service.AnimeChangeFeedService;
+import com.academydevdojo.springboot.service.AnimeEventBroadcaster;
+import com.academydevdojo.springboot.service.AnimeExportService;
+import com.academydevdojo.springboot.service.AnimeImportService;
+import com.academydevdojo.springboot.service.AnimeImportService.Format;
+import com.academydevdojo.springboot.service.AnimeSearchIndex;
 import com.academydevdojo.springboot.service.AnimeService;
+import com.academydevdojo.springboot.service.AnimeSuggestionIndex;
+import com.academydevdojo.springboot.util.AnimeETags;
+import com.academydevdojo.springboot.wrapper.AnimeSummary;
+import com.academydevdojo.springboot.wrapper.CursorPage;
+import com.academydevdojo.springboot.wrapper.DeleteReport;
+import com.academydevdojo.springboot.wrapper.ImportReport;
+import com.academydevdojo.springboot.wrapper.LeanPage;
+import com.academydevdojo.springboot.wrapper.MultiGetResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
 import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -25,6 +50,13 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AnimeController {
     private final AnimeService animeService;
+    private final AnimeExportService animeExportService;
+    private final AnimeChangeFeedService animeChangeFeedService;
+    private final AnimeEventBroadcaster animeEventBroadcaster;
+    private final AnimeImportService animeImportService;
+    private final AnimeBulkDeleteService animeBulkDeleteService;
+    private final AnimeSuggestionIndex animeSuggestionIndex;
+    private final AnimeSearchIndex animeSearchIndex;
 
     @PostMapping("/create")
     @Operation(summary = "Create a new Anime", tags = "Create")
@@ -35,15 +67,110 @@ public class AnimeController {
 
     @GetMapping
     @Operation(summary = "List All Animes Paginated", tags = "Read")
-    public ResponseEntity<Page<Anime>> list(@ParameterObject Pageable pageable) {
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200",
+            description = "A Page, or a LeanPage When " + LeanPage.MEDIA_TYPE_VALUE + " Is Accepted")
+    })
+    public ResponseEntity<?> list(@ParameterObject Pageable pageable,
+        @Parameter(description = "Whether the lean page carries the total, which costs a count query")
+        @RequestParam(value = "count", defaultValue = "true") boolean count,
+        @RequestHeader(value = HttpHeaders.ACCEPT, required = false) List<MediaType> accept) {
+
+        // negotiated here: a second mapping producing the lean type would also win for */*
+        if (!LeanPage.isAcceptedBy(accept)) {
+            Page<Anime> animes = animeService.listAll(pageable);
+            return ResponseEntity.ok().eTag(AnimeETags.of(animes, false)).body(animes);
+        }
+
+        Slice<Anime> animes = count ? animeService.listAll(pageable) : animeService.listSlice(pageable);
+        return ResponseEntity.ok()
+            .contentType(LeanPage.MEDIA_TYPE)
+            .eTag(AnimeETags.of(animes, true))
+            .body(LeanPage.of(animes));
+    }
+
+    @GetMapping(params = "ids")
+    @Operation(summary = "List the Animes With the Given Ids in Request Order", tags = "Read")
+    public ResponseEntity<MultiGetResponse<Anime>> findAllById(@RequestParam(value = "ids") List<Integer> ids) {
+
+        return ResponseEntity.ok(animeService.findAllById(ids));
+    }
+
+    @PostMapping(path = "/find-by/ids")
+    @Operation(summary = "List the Animes With the Ids in the Body, for Id Sets Too Long for a URL", tags = "Read")
+    public ResponseEntity<MultiGetResponse<Anime>> findAllByIdInBody(@RequestBody List<Integer> ids) {
+
+        return ResponseEntity.ok(animeService.findAllById(ids));
+    }
+
+    @GetMapping(path = "/keyset")
+    @Operation(summary = "List All Animes Using a Continuation Cursor Instead of Page Offsets", tags = "Read")
+    public ResponseEntity<CursorPage<Anime>> listByCursor(
+        @Parameter(description = "Token returned as nextCursor by the previous page")
+        @RequestParam(value = "cursor", required = false) String cursor,
+        @Parameter(description = "Sort key of the first page, 'id' or 'name'")
+        @RequestParam(value = "sort", defaultValue = "id") String sort,
+        @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        return ResponseEntity.ok(animeService.listByCursor(cursor, sort, size));
+    }
+
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream All Animes as Newline-Delimited JSON", tags = "Read")
+    public ResponseEntity<StreamingResponseBody> export() {
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(animeExportService::exportAll);
+    }
+
+    @GetMapping(path = "/changes", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream the Animes Written or Deleted Since a Watermark as Newline-Delimited JSON",
+        tags = "Read")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200",
+            description = "The Watermark of the Next Sync Is Sent in " + AnimeChangeFeedService.WATERMARK_HEADER),
+        @ApiResponse(responseCode = "410",
+            description = "The Watermark Is Older Than the Deletions Kept, Sync Again Without It")
+    })
+    public ResponseEntity<StreamingResponseBody> changes(
+        @Parameter(description = "Watermark returned by the previous sync; without it every anime is sent")
+        @RequestParam(value = "since", required = false) Instant since) {
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .header(AnimeChangeFeedService.WATERMARK_HEADER, animeChangeFeedService.watermark(since).toString())
+            .body(outputStream -> animeChangeFeedService.writeChanges(since, outputStream));
+    }
+
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Push Committed Anime Changes as Server-Sent Events", tags = "Read")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200",
+            description = "A " + AnimeEventBroadcaster.RESET + " Event Means The Changes Since Last-Event-ID Are Lost")
+    })
+    public SseEmitter events(
+        @Parameter(description = "Id of the last event received; the stream resumes right after it")
+        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
 
-        return ResponseEntity.ok(animeService.listAll(pageable));
+        return animeEventBroadcaster.subscribe(lastEventId);
     }
 
     @GetMapping(path = "/{id}")
     @Operation(summary = "List an Anime by Id", tags = "Read")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successful Operation"),
+        @ApiResponse(responseCode = "304", description = "When If-None-Match or If-Modified-Since Still Holds")
+    })
     public ResponseEntity<Anime> findById(@PathVariable int id) {
-        return ResponseEntity.ok(animeService.findById(id));
+
+        // the validators come from the cached anime; a 304 is answered before any serialization
+        Anime anime = animeService.findById(id);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(AnimeETags.of(anime));
+        if (anime.getLastModified() != null) {
+            response.lastModified(anime.getLastModified());
+        }
+        return response.body(anime);
     }
 
     @GetMapping(path = "/auth/find-by/{id}")
@@ -59,13 +186,67 @@ public class AnimeController {
         return ResponseEntity.ok(animeService.findByName(anime));
     }
 
+    @GetMapping(path = "/suggest")
+    @Operation(summary = "List Animes Whose Name Starts With the Prefix, Ignoring Case and Accents", tags = "Read")
+    public ResponseEntity<List<AnimeSummary>> suggest(@RequestParam(value = "prefix") String prefix,
+        @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(animeSuggestionIndex.suggest(prefix, limit));
+    }
+
+    @GetMapping(path = "/search")
+    @Operation(summary = "List Animes With a Name Similar to the Query, Best Match First", tags = "Read")
+    public ResponseEntity<List<AnimeSummary>> search(@RequestParam(value = "q") String query,
+        @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        return ResponseEntity.ok(animeSearchIndex.search(query, limit));
+    }
+
     @PutMapping
     @Operation(summary = "Update an Anime", tags = "Update")
-    public ResponseEntity<Void> update(@RequestBody Anime anime) {
-        animeService.update(anime);
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Successful Operation"),
+        @ApiResponse(responseCode = "409", description = "When the Version in the Body Is No Longer Current"),
+        @ApiResponse(responseCode = "412", description = "When the Version in If-Match Is No Longer Current")
+    })
+    public ResponseEntity<Void> update(@RequestBody @Valid Anime anime,
+        @Parameter(description = "ETag of the anime as read; takes precedence over the version in the body")
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        animeService.update(anime, AnimeETags.versionOf(ifMatch));
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 
+    @PatchMapping(path = "/{id}")
+    @Operation(summary = "Update Only the Given Fields of an Anime", tags = "Update")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Successful Operation"),
+        @ApiResponse(responseCode = "400", description = "When Anime Does Not Exist in The Database"),
+        @ApiResponse(responseCode = "412", description = "When the Version in If-Match Is No Longer Current")
+    })
+    public ResponseEntity<Void> patch(@PathVariable int id, @RequestBody @Valid AnimePatchRequestBody patch,
+        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        animeService.patch(id, patch, AnimeETags.versionOf(ifMatch));
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    @PostMapping(path = "/admin/import", consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    @Operation(summary = "Import Animes From a Newline-Delimited JSON or CSV Body", tags = "Create")
+    public ResponseEntity<ImportReport> importAnimes(InputStream body,
+        @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType) throws IOException {
+
+        Format format = MediaType.APPLICATION_NDJSON.includes(contentType) ? Format.NDJSON : Format.CSV;
+        return ResponseEntity.ok(animeImportService.importAnimes(body, format));
+    }
+
+    @PostMapping(path = "/admin/bulk-delete")
+    @Operation(summary = "Delete the Animes With the Given Ids or Name in Batches", tags = "Delete")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successful Operation"),
+        @ApiResponse(responseCode = "400", description = "When Neither or Both of Ids and Name Are Given")
+    })
+    public ResponseEntity<DeleteReport> bulkDelete(@RequestBody AnimeBulkDeleteRequestBody request) {
+
+        return ResponseEntity.ok(animeBulkDeleteService.delete(request));
+    }
+
     @DeleteMapping(path = "/admin/{id}")
     @Operation(summary = "Delete an Anime", tags = "Delete")
     @ApiResponses(value = {
@@ -0,0 +1,45 @@
+package com.academydevdojo.springboot.controller;
+
+import com.academydevdojo.springboot.requests.LoginRequestBody;
+import com.academydevdojo.springboot.security.TokenService;
+import com.academydevdojo.springboot.wrapper.TokenResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import javax.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/v1/auth")
+@RequiredArgsConstructor
+public class AuthController {
+
+    private final AuthenticationManager authenticationManager;
+    private final TokenService tokenService;
+
+    @PostMapping("/login")
+    @Operation(summary = "Exchange Username and Password for a Bearer Token", tags = "Authentication")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Successful Operation"),
+        @ApiResponse(responseCode = "401", description = "When Credentials Are Invalid")
+    })
+    public ResponseEntity<TokenResponse> login(@RequestBody @Valid LoginRequestBody loginRequestBody) {
+
+        Authentication authentication = authenticationManager.authenticate(
+            new UsernamePasswordAuthenticationToken(loginRequestBody.getUsername(), loginRequestBody.getPassword()));
+
+        return ResponseEntity.ok(TokenResponse.builder()
+            .accessToken(tokenService.issue(authentication))
+            .tokenType("Bearer")
+            .expiresIn(tokenService.getTtl().getSeconds())
+            .build());
+    }
+}
@@ -1,7 +1,17 @@
 package com.academydevdojo.springboot.domain;
 
+import com.academydevdojo.springboot.event.AnimeChangePublisher;
+import com.academydevdojo.springboot.service.MissingAnimeIds;
 import java.io.Serializable;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import javax.persistence.Column;
+import javax.persistence.EntityListeners;
+import javax.persistence.Index;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -11,23 +21,67 @@ import lombok.NoArgsConstructor;
 
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @Entity
-@Table(name = "anime")
+@EntityListeners({MissingAnimeIds.class, AnimeChangePublisher.class})
+@Table(name = "anime", indexes = {
+    @Index(name = "idx_anime_name_id", columnList = "name, id"),
+    @Index(name = "idx_anime_last_modified_id", columnList = "lastModified, id")
+})
 public class Anime implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = IdGenerators.POOLED)
     private Integer id;
     @NotNull
     @NotEmpty(message = "The name of this anime cannot be empty")
     private String name;
+
+    /**
+     * Bumped by every write, including the bulk updates, so it doubles as the ETag of the anime.
+     * The default fills the column for rows that predate it.
+     */
+    @Version
+    @Column(nullable = false, columnDefinition = "integer default 0")
+    private Integer version;
+
+    /**
+     * Null, like {@link #lastModified}, for rows that predate the timestamps.
+     */
+    @Column(updatable = false)
+    private Instant createdAt;
+
+    private Instant lastModified;
+
+    /**
+     * Every field is immutable, so the copy shares no state with this anime.
+     */
+    public Anime copy() {
+        return toBuilder().build();
+    }
+
+    /**
+     * Truncated to the microseconds the column keeps, so an anime equals its reloaded copy.
+     */
+    public static Instant modificationTime() {
+        return Instant.now().truncatedTo(ChronoUnit.MICROS);
+    }
+
+    @PrePersist
+    void created() {
+        createdAt = modificationTime();
+        lastModified = createdAt;
+    }
+
+    @PreUpdate
+    void touch() {
+        lastModified = modificationTime();
+    }
 }
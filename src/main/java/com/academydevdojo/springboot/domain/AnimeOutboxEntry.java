@@ -0,0 +1,45 @@
+package com.academydevdojo.springboot.domain;
+
+import com.academydevdojo.springboot.event.AnimeChangedEvent.Type;
+import java.time.Instant;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One anime change as recorded in the outbox that every instance polls. Rows are written and read
+ * with plain JDBC; the mapping only defines the table. Unlike the entities, the id comes from the
+ * table's auto-increment, as the pooled blocks each instance holds are not ordered across instances.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = AnimeOutboxEntry.TABLE, indexes = @Index(name = "idx_anime_outbox_created_at", columnList = "createdAt"))
+public class AnimeOutboxEntry {
+
+    public static final String TABLE = "anime_outbox";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private int animeId;
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Type type;
+    private String name;
+    @Column(length = 64)
+    private String node;
+    private Instant createdAt;
+}
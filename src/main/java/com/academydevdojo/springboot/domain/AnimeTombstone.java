@@ -0,0 +1,42 @@
+package com.academydevdojo.springboot.domain;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Remembers that an anime was deleted and when, so the change feed can tell mirrors to drop it.
+ * The row has its own id rather than the anime id, so deleting an id twice, as a bulk delete of
+ * ids that are already gone does, never conflicts.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "anime_tombstone", indexes = @Index(name = "idx_anime_tombstone_deleted_at", columnList = "deletedAt"))
+public class AnimeTombstone {
+
+    @Id
+    @GeneratedValue(generator = IdGenerators.POOLED)
+    private Long id;
+    private int animeId;
+    private Instant deletedAt;
+
+    public static List<AnimeTombstone> of(Collection<Integer> animeIds) {
+        Instant deletedAt = Anime.modificationTime();
+        return animeIds.stream()
+            .map(animeId -> AnimeTombstone.builder().animeId(animeId).deletedAt(deletedAt).build())
+            .collect(Collectors.toList());
+    }
+}
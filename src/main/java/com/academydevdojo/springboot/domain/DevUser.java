@@ -1,11 +1,12 @@
 package com.academydevdojo.springboot.domain;
 
+import com.academydevdojo.springboot.security.DevUserCacheEvictionListener;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.stream.Collectors;
 import javax.persistence.Entity;
+import javax.persistence.EntityListeners;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
@@ -21,12 +22,13 @@ import org.springframework.security.core.userdetails.UserDetails;
 @NoArgsConstructor
 @Builder
 @Entity
+@EntityListeners(DevUserCacheEvictionListener.class)
 public class DevUser implements UserDetails {
 
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(generator = IdGenerators.POOLED)
     private Integer id;
     @NotEmpty(message = "The user's name cannot be empty")
     private String name;
@@ -0,0 +1,12 @@
+package com.academydevdojo.springboot.domain;
+
+public final class IdGenerators {
+
+    public static final String POOLED = "pooled";
+    public static final String TABLE = "id_sequence";
+    public static final String SEGMENT_COLUMN = "sequence_name";
+    public static final String VALUE_COLUMN = "next_val";
+
+    private IdGenerators() {
+    }
+}
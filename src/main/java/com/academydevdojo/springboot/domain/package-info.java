@@ -0,0 +1,18 @@
+/**
+ * Entities draw their ids from the shared {@code pooled} generator: a row per entity table in
+ * {@code id_sequence} hands out blocks of 50 ids, so inserts need no auto-increment round trip,
+ * Hibernate can batch them and several instances can mint ids without contending on MySQL.
+ */
+@GenericGenerator(name = IdGenerators.POOLED, strategy = "org.hibernate.id.enhanced.TableGenerator", parameters = {
+    @Parameter(name = "table_name", value = IdGenerators.TABLE),
+    @Parameter(name = "segment_column_name", value = IdGenerators.SEGMENT_COLUMN),
+    @Parameter(name = "value_column_name", value = IdGenerators.VALUE_COLUMN),
+    @Parameter(name = "prefer_entity_table_as_segment_value", value = "true"),
+    @Parameter(name = "initial_value", value = "1"),
+    @Parameter(name = "increment_size", value = "50"),
+    @Parameter(name = "optimizer", value = "pooled-lo")
+})
+package com.academydevdojo.springboot.domain;
+
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
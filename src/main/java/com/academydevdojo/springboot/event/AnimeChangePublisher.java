@@ -0,0 +1,36 @@
+package com.academydevdojo.springboot.event;
+
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.event.AnimeChangedEvent.Type;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns the JPA lifecycle callbacks of {@link Anime} into {@link AnimeChangedEvent}s, so every
+ * write path, including bulk import, is covered without each one publishing on its own.
+ */
+@Component
+@RequiredArgsConstructor
+public class AnimeChangePublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void created(Anime anime) {
+        eventPublisher.publishEvent(new AnimeChangedEvent(Type.CREATED, anime.getId(), anime.getName()));
+    }
+
+    @PostUpdate
+    public void updated(Anime anime) {
+        eventPublisher.publishEvent(new AnimeChangedEvent(Type.UPDATED, anime.getId(), anime.getName()));
+    }
+
+    @PostRemove
+    public void deleted(Anime anime) {
+        eventPublisher.publishEvent(new AnimeChangedEvent(Type.DELETED, anime.getId(), anime.getName()));
+    }
+}
@@ -0,0 +1,35 @@
+package com.academydevdojo.springboot.event;
+
+import lombok.Value;
+
+/**
+ * Published for every anime written through JPA. Listeners that keep derived state, such as the
+ * in-memory indexes, should use {@code @TransactionalEventListener(fallbackExecution = true)} so
+ * they only see changes that were committed.
+ *
+ * <p>Changes committed by another instance are published again here by {@link AnimeOutbox}, with
+ * {@code remote} set; they were already committed and are already in the outbox.
+ */
+@Value
+public class AnimeChangedEvent {
+
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+
+    Type type;
+    int id;
+    String name;
+    boolean remote;
+
+    public AnimeChangedEvent(Type type, int id, String name) {
+        this(type, id, name, false);
+    }
+
+    public AnimeChangedEvent(Type type, int id, String name, boolean remote) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.remote = remote;
+    }
+}
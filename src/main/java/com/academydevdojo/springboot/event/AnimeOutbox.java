@@ -0,0 +1,272 @@
+package com.academydevdojo.springboot.event;
+
+import com.academydevdojo.springboot.config.CachingConfig;
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.domain.AnimeOutboxEntry;
+import com.academydevdojo.springboot.event.AnimeChangedEvent.Type;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManager;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps the in-process anime state of every instance in step without a broker. Each change is
+ * written to the {@code anime_outbox} table in the transaction that made it, and every instance
+ * polls the table and applies the changes committed elsewhere: the entries of the anime and
+ * missing-id caches are evicted and the change is published again as a remote
+ * {@link AnimeChangedEvent}, which updates the indexes, the response cache and the event stream.
+ *
+ * <p>The rows of a transaction are inserted as one JDBC batch just before it commits, after the
+ * persistence context is flushed so the changes seen by the entity listeners are included. Their
+ * auto-increment ids are therefore taken moments before the commit. A poller that sees a gap below
+ * the ids it read waits up to the gap timeout for the missing rows, which belong to a commit in
+ * flight, before it gives up on them as rolled back. The JDBC statements do not count towards
+ * {@code anime.sql.statements}.
+ *
+ * <p>The first change of a transaction must arrive before the commit starts, as that is when the
+ * rows are inserted. A write whose entity callbacks would first fire in the commit's own flush,
+ * such as a persist with a pooled id, has to flush earlier.
+ */
+@Log4j2
+@Component
+public class AnimeOutbox implements SmartInitializingSingleton, DisposableBean {
+
+    private static final String OUTBOX = "anime.outbox";
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    private static final String INSERT = "insert into " + AnimeOutboxEntry.TABLE
+        + " (anime_id, type, name, node, created_at) values (?, ?, ?, ?, ?)";
+    private static final String SELECT_AFTER = "select id, anime_id, type, name, node, created_at from "
+        + AnimeOutboxEntry.TABLE + " where id > ? order by id limit ?";
+    private static final String SELECT_LAST_ID = "select coalesce(max(id), 0) from " + AnimeOutboxEntry.TABLE;
+    private static final String PURGE = "delete from " + AnimeOutboxEntry.TABLE + " where created_at < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache animeCache;
+    private final Cache missingAnimeCache;
+    private final String node;
+    private final int batchSize;
+    private final Duration pollInterval;
+    private final Duration gapTimeout;
+    private final Duration retention;
+    private final ScheduledExecutorService poller;
+    private final Timer lag;
+    private final Counter applied;
+
+    // touched by the poller thread only
+    private final NavigableSet<Long> seenAfterWatermark = new TreeSet<>();
+    private long watermark;
+    private long gapSince;
+
+    public AnimeOutbox(JdbcTemplate jdbcTemplate, EntityManager entityManager,
+        ApplicationEventPublisher eventPublisher, CacheManager cacheManager, MeterRegistry meterRegistry,
+        @Value("${anime.outbox.node}") String node,
+        @Value("${anime.outbox.batch-size}") int batchSize,
+        @Value("${anime.outbox.poll-interval}") Duration pollInterval,
+        @Value("${anime.outbox.gap-timeout}") Duration gapTimeout,
+        @Value("${anime.outbox.retention}") Duration retention) {
+
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.animeCache = cacheManager.getCache(CachingConfig.ANIMES);
+        this.missingAnimeCache = cacheManager.getCache(CachingConfig.MISSING_ANIMES);
+        this.node = node;
+        this.batchSize = batchSize;
+        this.pollInterval = pollInterval;
+        this.gapTimeout = gapTimeout;
+        this.retention = retention;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("anime-outbox-");
+        threadFactory.setDaemon(true);
+        this.poller = Executors.newSingleThreadScheduledExecutor(threadFactory);
+
+        this.lag = Timer.builder(OUTBOX + ".lag")
+            .description("Time from a commit on another instance to its invalidation here")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.applied = meterRegistry.counter(OUTBOX + ".applied");
+    }
+
+    /**
+     * Starts after the already committed rows, which a freshly started instance has no stale state for.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+
+        Long lastId = jdbcTemplate.queryForObject(SELECT_LAST_ID, Long.class);
+        poller.execute(() -> watermark = lastId == null ? 0 : lastId);
+        poller.scheduleWithFixedDelay(this::pollSafely, pollInterval.toMillis(), pollInterval.toMillis(),
+            TimeUnit.MILLISECONDS);
+        poller.scheduleWithFixedDelay(this::purgeSafely, PURGE_INTERVAL.toMillis(), PURGE_INTERVAL.toMillis(),
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Outside a transaction the row is inserted at once, as the change is already committed.
+     */
+    @EventListener
+    public void onAnimeChanged(AnimeChangedEvent change) {
+
+        if (change.isRemote()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            insert(List.of(change));
+            return;
+        }
+
+        PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new PendingChanges();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.changes.add(change);
+    }
+
+    private void insert(List<AnimeChangedEvent> changes) {
+
+        Timestamp createdAt = Timestamp.from(Anime.modificationTime());
+        jdbcTemplate.batchUpdate(INSERT, changes, changes.size(), (statement, change) -> {
+            statement.setInt(1, change.getId());
+            statement.setString(2, change.getType().name());
+            statement.setString(3, change.getName());
+            statement.setString(4, node);
+            statement.setTimestamp(5, createdAt);
+        });
+    }
+
+    private void pollSafely() {
+        try {
+            poll();
+        } catch (RuntimeException e) {
+            log.warn("Anime outbox poll failed", e);
+        }
+    }
+
+    /**
+     * Rows above a gap are read again by every poll until the gap closes, so the batch size also
+     * bounds how far the poller can run ahead of an open gap.
+     */
+    void poll() {
+
+        List<Row> rows = jdbcTemplate.query(SELECT_AFTER, AnimeOutbox::row, watermark, batchSize);
+        long now = System.currentTimeMillis();
+
+        for (Row row : rows) {
+            if (row.id > watermark && seenAfterWatermark.add(row.id) && !node.equals(row.node)) {
+                apply(row, now);
+            }
+        }
+        advanceWatermark(now);
+    }
+
+    private void apply(Row row, long now) {
+
+        animeCache.evict(row.animeId);
+        missingAnimeCache.evict(row.animeId);
+        eventPublisher.publishEvent(new AnimeChangedEvent(row.type, row.animeId, row.name, true));
+        lag.record(Math.max(0, now - row.createdAt.toEpochMilli()), TimeUnit.MILLISECONDS);
+        applied.increment();
+    }
+
+    private void advanceWatermark(long now) {
+
+        while (!seenAfterWatermark.isEmpty()) {
+            if (seenAfterWatermark.remove(watermark + 1)) {
+                watermark++;
+                gapSince = 0;
+                continue;
+            }
+            if (gapSince == 0) {
+                gapSince = now;
+            }
+            if (now - gapSince < gapTimeout.toMillis()) {
+                return;
+            }
+            log.debug("Anime outbox ids {} to {} never committed", watermark + 1, seenAfterWatermark.first() - 1);
+            watermark = seenAfterWatermark.first() - 1;
+            gapSince = 0;
+        }
+    }
+
+    private void purgeSafely() {
+        try {
+            jdbcTemplate.update(PURGE, Timestamp.from(Instant.now().minus(retention)));
+        } catch (RuntimeException e) {
+            log.warn("Anime outbox purge failed", e);
+        }
+    }
+
+    private static Row row(ResultSet resultSet, int rowNum) throws SQLException {
+        return new Row(resultSet.getLong("id"), resultSet.getInt("anime_id"), Type.valueOf(resultSet.getString("type")),
+            resultSet.getString("name"), resultSet.getString("node"), resultSet.getTimestamp("created_at").toInstant());
+    }
+
+    @Override
+    public void destroy() {
+        poller.shutdownNow();
+    }
+
+    @lombok.Value
+    private static class Row {
+        long id;
+        int animeId;
+        Type type;
+        String name;
+        String node;
+        Instant createdAt;
+    }
+
+    /**
+     * The changes of one transaction, inserted before it commits and forgotten once it completes.
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+
+        final List<AnimeChangedEvent> changes = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // changes still held by the persistence context only reach the entity listeners when flushed
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                entityManager.flush();
+            }
+            if (!changes.isEmpty()) {
+                insert(changes);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(AnimeOutbox.this);
+        }
+    }
+}
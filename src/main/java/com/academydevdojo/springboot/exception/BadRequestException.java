@@ -9,4 +9,11 @@ public class BadRequestException extends RuntimeException {
     public BadRequestException(String message) {
         super(message);
     }
+
+    /**
+     * For expected outcomes such as a missing id, where a stack trace would only cost time.
+     */
+    public BadRequestException(String message, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+    }
 }
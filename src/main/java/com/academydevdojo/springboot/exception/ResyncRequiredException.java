@@ -0,0 +1,15 @@
+package com.academydevdojo.springboot.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The changes a client asked for can no longer be told apart, so it must start over with a full sync.
+ */
+@ResponseStatus(HttpStatus.GONE)
+public class ResyncRequiredException extends RuntimeException {
+
+    public ResyncRequiredException(String message) {
+        super(message, null, false, false);
+    }
+}
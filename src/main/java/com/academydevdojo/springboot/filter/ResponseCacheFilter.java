@@ -0,0 +1,257 @@
+package com.academydevdojo.springboot.filter;
+
+import com.academydevdojo.springboot.event.AnimeChangedEvent;
+import com.academydevdojo.springboot.wrapper.LeanPage;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Caches the JSON of the hottest reads, the list pages and the lookups by name, keyed by path,
+ * sorted query parameters, representation and roles. A gzip copy is compressed once when the entry
+ * is stored. A hit is written straight from the stored bytes and never reaches the controller, so
+ * it costs no service call, query or Jackson work. Registered as a plain filter, it runs after the
+ * security filter chain and only ever sees authorized requests.
+ *
+ * <p>Every committed {@link AnimeChangedEvent} invalidates all entries at once, since one change
+ * can shift rows across every page. Each entry remembers the generation it was computed in, so a
+ * response read while a change committed is never served.
+ *
+ * <p>The ETag the controller set is kept with the entry, so a matching {@code If-None-Match} is
+ * answered with a 304 from the cache too. The gzip copy carries its own tag, as a strong ETag names
+ * the exact bytes sent.
+ */
+@Component
+public class ResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Set<String> CACHED_PATHS = Set.of("/v1/animes", "/v1/animes/find-by/name");
+    private static final String GZIP = "gzip";
+    private static final String VARY = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
+    private final AtomicLong generation = new AtomicLong();
+    private final Cache<String, Entry> entries;
+    private final long maxBodySize;
+
+    public ResponseCacheFilter(@Value("${anime.cache.responses.spec}") String spec,
+        @Value("${anime.cache.responses.max-body-size}") DataSize maxBodySize, MeterRegistry meterRegistry) {
+
+        this.entries = Caffeine.from(spec).build();
+        this.maxBodySize = maxBodySize.toBytes();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "responses");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnimeChanged(AnimeChangedEvent event) {
+        generation.incrementAndGet();
+        entries.invalidateAll();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+            || !CACHED_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+
+        String key = key(request);
+        if (key == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        long observed = generation.get();
+        Entry entry = entries.getIfPresent(key);
+        if (entry != null && entry.generation == observed) {
+            if (!notModified(entry, gzip, request, response)) {
+                write(entry, gzip, response);
+            }
+            return;
+        }
+
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() != HttpStatus.OK.value() || request.isAsyncStarted()
+            || wrapper.getContentSize() > maxBodySize || !isJson(wrapper.getContentType())) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        entry = new Entry(observed, wrapper.getContentType(), wrapper.getHeader(HttpHeaders.ETAG),
+            wrapper.getContentAsByteArray());
+        entries.put(key, entry);
+        write(entry, gzip, response);
+    }
+
+    /**
+     * Null when the request cannot be keyed reliably, which leaves it uncached.
+     */
+    private static String key(HttpServletRequest request) {
+
+        boolean lean;
+        try {
+            lean = LeanPage.isAcceptedBy(MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT)));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder(request.getRequestURI()).append('?');
+        for (Map.Entry<String, String[]> parameter : new TreeMap<>(request.getParameterMap()).entrySet()) {
+            // values keep their order, which matters for repeated sort parameters
+            for (String value : parameter.getValue()) {
+                key.append(URLEncoder.encode(parameter.getKey(), StandardCharsets.UTF_8)).append('=')
+                    .append(URLEncoder.encode(value, StandardCharsets.UTF_8)).append('&');
+            }
+        }
+        key.append(lean ? " lean " : " page ");
+        key.append(authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .sorted()
+            .collect(Collectors.joining(",")));
+        return key.toString();
+    }
+
+    static boolean acceptsGzip(String acceptEncoding) {
+
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim();
+            if ((GZIP.equalsIgnoreCase(name) || "*".equals(name)) && !rejected(parts)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean rejected(String[] codingParts) {
+        for (int i = 1; i < codingParts.length; i++) {
+            String parameter = codingParts[i].replace(" ", "");
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2)) == 0;
+                } catch (NumberFormatException e) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean isJson(String contentType) {
+        if (contentType == null) {
+            return false;
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return MediaType.APPLICATION_JSON.isCompatibleWith(mediaType)
+            || "json".equals(mediaType.getSubtypeSuffix());
+    }
+
+    private static boolean notModified(Entry entry, boolean gzip, HttpServletRequest request,
+        HttpServletResponse response) {
+
+        String eTag = entry.eTag(gzip);
+        if (eTag == null || !new ServletWebRequest(request, response).checkNotModified(eTag)) {
+            return false;
+        }
+        response.setHeader(HttpHeaders.VARY, VARY);
+        return true;
+    }
+
+    private static void write(Entry entry, boolean gzip, HttpServletResponse response) throws IOException {
+
+        byte[] body = gzip && entry.gzip != null ? entry.gzip : entry.identity;
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(entry.contentType);
+        response.setHeader(HttpHeaders.VARY, VARY);
+        if (body == entry.gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        if (entry.eTag != null) {
+            response.setHeader(HttpHeaders.ETAG, entry.eTag(gzip));
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static final class Entry {
+
+        private final long generation;
+        private final String contentType;
+        private final String eTag;
+        private final byte[] identity;
+        private final byte[] gzip;
+
+        private Entry(long generation, String contentType, String eTag, byte[] identity) {
+            this.generation = generation;
+            this.contentType = contentType;
+            this.eTag = eTag;
+            this.identity = identity;
+            this.gzip = compress(identity);
+        }
+
+        /**
+         * The tag of the variant sent, with a suffix inside the quotes for the gzip copy.
+         */
+        private String eTag(boolean gzipped) {
+            if (eTag == null || !gzipped || gzip == null || !eTag.endsWith("\"")) {
+                return eTag;
+            }
+            return eTag.substring(0, eTag.length() - 1) + "-" + GZIP + "\"";
+        }
+
+        /**
+         * Null when compressing does not pay off, as for short bodies.
+         */
+        private static byte[] compress(byte[] body) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 32);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(body);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            return compressed.size() < body.length ? compressed.toByteArray() : null;
+        }
+    }
+}
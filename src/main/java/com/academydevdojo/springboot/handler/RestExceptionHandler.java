@@ -3,14 +3,17 @@ package com.academydevdojo.springboot.handler;
 import com.academydevdojo.springboot.exception.BadRequestException;
 import com.academydevdojo.springboot.exception.BadRequestExceptionDetails;
 import com.academydevdojo.springboot.exception.ExceptionDetails;
+import com.academydevdojo.springboot.exception.ResyncRequiredException;
 import com.academydevdojo.springboot.exception.ValidationExceptionDetails;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.stream.Collectors;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.Nullable;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -35,6 +38,56 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
         );
     }
 
+    @ExceptionHandler(AuthenticationException.class)
+    public ResponseEntity<ExceptionDetails> handleAuthenticationException(AuthenticationException authenticationException) {
+        return new ResponseEntity<>(
+            ExceptionDetails.builder()
+                .timestamp(LocalDateTime.now())
+                .title("Unauthorized, Check Your Credentials")
+                .details(authenticationException.getMessage())
+                .status(HttpStatus.UNAUTHORIZED.value())
+                .developerMessage(authenticationException.getClass().getName())
+                .build(),
+            HttpStatus.UNAUTHORIZED
+        );
+    }
+
+    @ExceptionHandler(ResyncRequiredException.class)
+    public ResponseEntity<ExceptionDetails> handleResyncRequiredException(ResyncRequiredException resyncRequiredException) {
+        return new ResponseEntity<>(
+            ExceptionDetails.builder()
+                .timestamp(LocalDateTime.now())
+                .title("Sync Watermark Expired, Sync Again Without It")
+                .details(resyncRequiredException.getMessage())
+                .status(HttpStatus.GONE.value())
+                .developerMessage(resyncRequiredException.getClass().getName())
+                .build(),
+            HttpStatus.GONE
+        );
+    }
+
+    /**
+     * A stale {@code If-Match} fails its precondition; a stale version in the body is a conflict.
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ExceptionDetails> handleOptimisticLockingFailureException(
+        OptimisticLockingFailureException optimisticLockingFailureException, WebRequest request) {
+
+        HttpStatus status = request.getHeader(HttpHeaders.IF_MATCH) != null
+            ? HttpStatus.PRECONDITION_FAILED
+            : HttpStatus.CONFLICT;
+        return new ResponseEntity<>(
+            ExceptionDetails.builder()
+                .timestamp(LocalDateTime.now())
+                .title("The Anime Was Changed, Read It Again Before Updating")
+                .details(optimisticLockingFailureException.getMessage())
+                .status(status.value())
+                .developerMessage(optimisticLockingFailureException.getClass().getName())
+                .build(),
+            status
+        );
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
         MethodArgumentNotValidException exception, HttpHeaders headers, HttpStatus status, WebRequest request) {
@@ -1,11 +1,122 @@
 package com.academydevdojo.springboot.repository;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
 import com.academydevdojo.springboot.domain.Anime;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 
+/**
+ * The read endpoints go through the methods selecting {@link #DETACHED}: the constructor
+ * expression builds plain animes straight from the rows, so Hibernate neither hydrates entities
+ * nor registers them in the persistence context of the request, and changes made to them are
+ * never written. Code that modifies animes loads them through the inherited {@link JpaRepository}
+ * methods instead.
+ */
 public interface AnimeRepository extends JpaRepository<Anime, Integer> {
 
-    List<Anime> findByName(String name);
+    /**
+     * Lists every column of {@link Anime}; a field added to the entity must be added here too.
+     */
+    String DETACHED = "select new com.academydevdojo.springboot.domain.Anime("
+        + "a.id, a.name, a.version, a.createdAt, a.lastModified) from Anime a";
+
+    @Query(value = DETACHED, countQuery = "select count(a) from Anime a")
+    Page<Anime> findDetachedBy(Pageable pageable);
+
+    /**
+     * Fetches one row past the page to tell whether another page follows, instead of counting.
+     */
+    @Query(DETACHED)
+    Slice<Anime> findDetachedSliceBy(Pageable pageable);
+
+    @Query(DETACHED + " where a.id = :id")
+    Optional<Anime> findDetachedById(@Param("id") int id);
+
+    @Query(DETACHED + " where a.id in :ids")
+    List<Anime> findDetachedByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Query(DETACHED + " where a.name = :name")
+    List<Anime> findByName(@Param("name") String name);
+
+    @Query(DETACHED + " where a.id > :id order by a.id asc")
+    List<Anime> findByIdGreaterThanOrderByIdAsc(@Param("id") int id, Pageable pageable);
+
+    @Query(DETACHED + " order by a.name asc, a.id asc")
+    List<Anime> findAllByOrderByNameAscIdAsc(Pageable pageable);
+
+    @Query(DETACHED + " where a.name >= :name and (a.name > :name or a.id > :id) order by a.name asc, a.id asc")
+    List<Anime> findByNameAndIdAfter(@Param("name") String name, @Param("id") int id, Pageable pageable);
+
+    /**
+     * Renames in place with a single UPDATE that bumps the version, and returns the number of rows
+     * matched, so a missing id needs no SELECT first. A non-null version must still be the current
+     * one. Entity listeners do not see bulk updates; callers publish the change themselves.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Anime a set a.name = :name, a.version = a.version + 1, a.lastModified = :modified"
+        + " where a.id = :id and (:version is null or a.version = :version)")
+    int updateName(@Param("id") int id, @Param("name") String name, @Param("version") Integer version,
+        @Param("modified") Instant modified);
+
+    /**
+     * Deletes without loading the row first and returns the number of rows removed. Like the
+     * bulk updates this bypasses the entity listeners.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Anime a where a.id = :id")
+    int deleteRow(@Param("id") int id);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Anime a where a.id in :ids")
+    int deleteRows(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * One keyset page of the ids carrying this exact name, served by the (name, id) index.
+     */
+    @Query("select a.id from Anime a where a.name = :name and a.id > :id order by a.id asc")
+    List<Integer> findIdsByNameAndIdAfter(@Param("name") String name, @Param("id") int id, Pageable pageable);
+
+    @Query("select a.id from Anime a where a.id in :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+
+    /**
+     * Forward-only cursor over the whole table. MySQL only streams rows with a positive fetch
+     * size when the connection uses {@code useCursorFetch=true}; callers must consume it inside
+     * a transaction and close it.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READONLY, value = "true"),
+        @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select a from Anime a order by a.id")
+    Stream<Anime> streamAll();
+
+    /**
+     * Forward-only cursor over the animes written after the given instant, oldest first, served
+     * by the (last_modified, id) index; the same streaming rules as {@link #streamAll} apply.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READONLY, value = "true"),
+        @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select a from Anime a where a.lastModified > :since order by a.lastModified, a.id")
+    Stream<Anime> streamModifiedAfter(@Param("since") Instant since);
 }
@@ -0,0 +1,39 @@
+package com.academydevdojo.springboot.repository;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
+
+import com.academydevdojo.springboot.domain.AnimeTombstone;
+import java.time.Instant;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface AnimeTombstoneRepository extends JpaRepository<AnimeTombstone, Long> {
+
+    /**
+     * Forward-only cursor over the deletions after the given instant, oldest first; callers must
+     * consume it inside a transaction and close it.
+     */
+    @QueryHints({
+        @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HINT_READONLY, value = "true"),
+        @QueryHint(name = HINT_CACHEABLE, value = "false")
+    })
+    @Query("select t from AnimeTombstone t where t.deletedAt > :since order by t.deletedAt, t.id")
+    Stream<AnimeTombstone> streamDeletedAfter(@Param("since") Instant since);
+
+    /**
+     * Runs in a transaction of its own when called outside one, as the scheduled purge does.
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from AnimeTombstone t where t.deletedAt < :before")
+    int deleteDeletedBefore(@Param("before") Instant before);
+}
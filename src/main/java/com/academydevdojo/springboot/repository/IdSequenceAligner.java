@@ -0,0 +1,59 @@
+package com.academydevdojo.springboot.repository;
+
+import com.academydevdojo.springboot.domain.IdGenerators;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Moves every id sequence up to the highest id already stored in its table; Hibernate keeps the
+ * last used value in the sequence row. Rows written while the tables still used auto-increment
+ * would otherwise collide with the first pooled blocks. The update only ever raises the value,
+ * so instances starting together cannot move it back.
+ */
+@Log4j2
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class IdSequenceAligner implements InitializingBean {
+
+    private static final List<String> SEQUENCE_TABLES = List.of("anime", "dev_user");
+
+    private static final String RAISE_SEQUENCE = "update " + IdGenerators.TABLE + " set " + IdGenerators.VALUE_COLUMN
+        + " = ? where " + IdGenerators.SEGMENT_COLUMN + " = ? and " + IdGenerators.VALUE_COLUMN + " < ?";
+    private static final String INSERT_SEQUENCE = "insert into " + IdGenerators.TABLE + " (" + IdGenerators.SEGMENT_COLUMN
+        + ", " + IdGenerators.VALUE_COLUMN + ") values (?, ?)";
+    private static final String COUNT_SEQUENCE = "select count(*) from " + IdGenerators.TABLE + " where "
+        + IdGenerators.SEGMENT_COLUMN + " = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void afterPropertiesSet() {
+        SEQUENCE_TABLES.forEach(this::align);
+    }
+
+    private void align(String table) {
+
+        Long lastUsedId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+
+        if (jdbcTemplate.update(RAISE_SEQUENCE, lastUsedId, table, lastUsedId) > 0) {
+            log.info("Id sequence of {} raised to {}", table, lastUsedId);
+            return;
+        }
+
+        Integer sequences = jdbcTemplate.queryForObject(COUNT_SEQUENCE, Integer.class, table);
+        if (sequences != null && sequences == 0) {
+            try {
+                jdbcTemplate.update(INSERT_SEQUENCE, table, lastUsedId);
+            } catch (DuplicateKeyException exception) {
+                jdbcTemplate.update(RAISE_SEQUENCE, lastUsedId, table, lastUsedId);
+            }
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.academydevdojo.springboot.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every repository call and counts the SQL statements Hibernate prepares during it, tagged
+ * with the repository and method name. The aspect wraps the repository proxy, so the flush at the
+ * end of a repository-owned transaction is attributed to the call that caused it. Every statement
+ * also counts towards {@code anime.sql.statements}, which makes statements prepared outside any
+ * repository call visible as the difference. A JDBC batch is prepared once and counts once.
+ */
+@Aspect
+@Component
+public class RepositoryStatementMetrics implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private static final String CALLS = "anime.repository.calls";
+    private static final String STATEMENTS = "anime.repository.statements";
+
+    private final ThreadLocal<Call> current = new ThreadLocal<>();
+    private final Map<Class<?>, Map<Method, Meters>> meters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final Counter statements;
+
+    public RepositoryStatementMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.statements = Counter.builder("anime.sql.statements")
+            .description("SQL statements prepared by Hibernate")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        // a repository calling another one is reported as the outer call only
+        if (current.get() != null) {
+            return joinPoint.proceed();
+        }
+
+        Meters callMeters = meters
+            .computeIfAbsent(joinPoint.getTarget().getClass(), ignored -> new ConcurrentHashMap<>())
+            .computeIfAbsent(((MethodSignature) joinPoint.getSignature()).getMethod(),
+                method -> new Meters(repositoryName(joinPoint.getTarget().getClass()), method.getName()));
+
+        Call call = new Call();
+        current.set(call);
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            current.remove();
+            callMeters.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            callMeters.statements.record(call.statements);
+        }
+    }
+
+    @Override
+    public String inspect(String sql) {
+        statements.increment();
+        Call call = current.get();
+        if (call != null) {
+            call.statements++;
+        }
+        return sql;
+    }
+
+    private static String repositoryName(Class<?> proxyClass) {
+        return Arrays.stream(proxyClass.getInterfaces())
+            .filter(Repository.class::isAssignableFrom)
+            .findFirst()
+            .map(Class::getSimpleName)
+            .orElse(proxyClass.getSimpleName());
+    }
+
+    private final class Meters {
+
+        private final Timer timer;
+        private final DistributionSummary statements;
+
+        private Meters(String repository, String method) {
+            this.timer = Timer.builder(CALLS)
+                .description("Repository calls, flush at commit included")
+                .tags("repository", repository, "method", method)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+            this.statements = DistributionSummary.builder(STATEMENTS)
+                .description("SQL statements prepared per repository call")
+                .tags("repository", repository, "method", method)
+                .register(meterRegistry);
+        }
+    }
+
+    private static final class Call {
+
+        private int statements;
+    }
+}
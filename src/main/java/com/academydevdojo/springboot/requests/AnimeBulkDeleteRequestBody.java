@@ -0,0 +1,20 @@
+package com.academydevdojo.springboot.requests;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Selects the animes to delete either by id or by exact name; exactly one of the two is given.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AnimeBulkDeleteRequestBody {
+
+    private List<Integer> ids;
+    private String name;
+}
@@ -0,0 +1,20 @@
+package com.academydevdojo.springboot.requests;
+
+import javax.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Fields left null are not changed.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class AnimePatchRequestBody {
+
+    @Size(min = 1, message = "The name of this anime cannot be empty")
+    private String name;
+}
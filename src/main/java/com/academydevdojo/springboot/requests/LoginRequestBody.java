@@ -0,0 +1,17 @@
+package com.academydevdojo.springboot.requests;
+
+import javax.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LoginRequestBody {
+
+    @NotEmpty(message = "The username cannot be empty")
+    private String username;
+    @NotEmpty(message = "The password cannot be empty")
+    private String password;
+}
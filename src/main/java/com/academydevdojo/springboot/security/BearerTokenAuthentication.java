@@ -0,0 +1,21 @@
+package com.academydevdojo.springboot.security;
+
+import java.util.Collection;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.Transient;
+
+/**
+ * The authentication carried by a verified bearer token. {@link Transient} keeps the
+ * {@code HttpSessionSecurityContextRepository} from storing it in a session, even when a streamed
+ * response commits before the filter chain returns; the token is sent again with every request.
+ */
+@Transient
+public class BearerTokenAuthentication extends UsernamePasswordAuthenticationToken {
+
+    private static final long serialVersionUID = 1L;
+
+    public BearerTokenAuthentication(String username, Collection<? extends GrantedAuthority> authorities) {
+        super(username, null, authorities);
+    }
+}
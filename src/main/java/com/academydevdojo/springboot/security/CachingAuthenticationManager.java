@@ -0,0 +1,77 @@
+package com.academydevdojo.springboot.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import org.springframework.cache.Cache;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Remembers successful username/password authentications so repeated requests from the same
+ * client skip both the user lookup and the BCrypt check. Entries are keyed by the username and
+ * an HMAC of the presented password under a key that never leaves this process, so the cache
+ * holds no reusable credential.
+ */
+public class CachingAuthenticationManager implements AuthenticationManager {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final AuthenticationManager delegate;
+    private final Cache cache;
+    private final SecretKeySpec digestKey;
+
+    public CachingAuthenticationManager(AuthenticationManager delegate, Cache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.digestKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+    }
+
+    @Override
+    public Authentication authenticate(Authentication authentication) throws AuthenticationException {
+
+        if (!(authentication instanceof UsernamePasswordAuthenticationToken) || authentication.getCredentials() == null) {
+            return delegate.authenticate(authentication);
+        }
+
+        String key = cacheKey(authentication.getName(), authentication.getCredentials().toString());
+        Authentication cached = cache.get(key, Authentication.class);
+        if (cached != null) {
+            return copyOf(cached, authentication.getDetails());
+        }
+
+        Authentication result = delegate.authenticate(authentication);
+        if (result != null && result.isAuthenticated()) {
+            cache.put(key, copyOf(result, null));
+        }
+        return result;
+    }
+
+    private static Authentication copyOf(Authentication authentication, Object details) {
+        UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(
+            authentication.getPrincipal(), null, authentication.getAuthorities());
+        token.setDetails(details);
+        return token;
+    }
+
+    private String cacheKey(String username, String password) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(digestKey);
+            mac.update(username.getBytes(StandardCharsets.UTF_8));
+            mac.update((byte) 0);
+            byte[] digest = mac.doFinal(password.getBytes(StandardCharsets.UTF_8));
+            return username + ":" + Base64.getEncoder().encodeToString(digest);
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("Unable to digest credentials", exception);
+        }
+    }
+}
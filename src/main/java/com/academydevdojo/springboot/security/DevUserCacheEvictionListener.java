@@ -0,0 +1,33 @@
+package com.academydevdojo.springboot.security;
+
+import com.academydevdojo.springboot.config.CachingConfig;
+import com.academydevdojo.springboot.domain.DevUser;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops every cached authentication when a user is changed or removed. A change may rename the
+ * user or replace the password, so entries cannot be matched by the new state alone.
+ */
+@Component
+@RequiredArgsConstructor
+public class DevUserCacheEvictionListener {
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    @PostUpdate
+    @PostRemove
+    public void evictAuthentications(DevUser devUser) {
+        cacheManager.ifAvailable(manager -> {
+            Cache cache = manager.getCache(CachingConfig.AUTHENTICATIONS);
+            if (cache != null) {
+                cache.clear();
+            }
+        });
+    }
+}
@@ -0,0 +1,115 @@
+package com.academydevdojo.springboot.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Issues and verifies short-lived HMAC-SHA256 signed tokens of the form
+ * {@code base64url(expiresAt|authorities|username).base64url(signature)}. Verifying a token only
+ * needs the signing key, so no user lookup or password check happens per request.
+ */
+@Log4j2
+@Component
+public class TokenService {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String SEPARATOR = "|";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec signingKey;
+    private final ThreadLocal<Mac> macs;
+    @Getter
+    private final Duration ttl;
+
+    public TokenService(@Value("${anime.security.token.secret:}") String secret,
+        @Value("${anime.security.token.ttl:15m}") Duration ttl) {
+
+        byte[] key;
+        if (secret.isBlank()) {
+            log.warn("anime.security.token.secret is not set, tokens will only be valid on this instance");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = Base64.getDecoder().decode(secret);
+        }
+
+        this.signingKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+        this.ttl = ttl;
+    }
+
+    public String issue(Authentication authentication) {
+
+        String authorities = authentication.getAuthorities().stream()
+            .map(GrantedAuthority::getAuthority)
+            .collect(Collectors.joining(","));
+        long expiresAt = Instant.now().plus(ttl).getEpochSecond();
+
+        byte[] payload = (expiresAt + SEPARATOR + authorities + SEPARATOR + authentication.getName())
+            .getBytes(StandardCharsets.UTF_8);
+
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    public Optional<Authentication> verify(String token) {
+
+        int dot = token.indexOf('.');
+        if (dot < 0) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return Optional.empty();
+            }
+
+            String[] parts = new String(payload, StandardCharsets.UTF_8).split("\\" + SEPARATOR, 3);
+            if (Instant.now().getEpochSecond() >= Long.parseLong(parts[0])) {
+                return Optional.empty();
+            }
+
+            List<GrantedAuthority> authorities = parts[1].isEmpty() ? List.of() : Arrays.stream(parts[1].split(","))
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+
+            return Optional.of(new BearerTokenAuthentication(parts[2], authorities));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException exception) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(signingKey);
+            return mac;
+        } catch (GeneralSecurityException exception) {
+            throw new IllegalStateException("Unable to initialize token signing", exception);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.academydevdojo.springboot.service;
+
+import com.academydevdojo.springboot.config.CachingConfig;
+import com.academydevdojo.springboot.domain.AnimeTombstone;
+import com.academydevdojo.springboot.event.AnimeChangedEvent;
+import com.academydevdojo.springboot.event.AnimeChangedEvent.Type;
+import com.academydevdojo.springboot.exception.BadRequestException;
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.academydevdojo.springboot.repository.AnimeTombstoneRepository;
+import com.academydevdojo.springboot.requests.AnimeBulkDeleteRequestBody;
+import com.academydevdojo.springboot.wrapper.DeleteReport;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes many animes in batches, each a single {@code DELETE ... WHERE id IN (...)} in its own
+ * short transaction, so a purge of thousands of rows never holds more than one batch of row locks
+ * and concurrent readers wait on one batch at most. A failed batch stops the purge; the batches
+ * before it stay deleted.
+ */
+@Log4j2
+@Service
+public class AnimeBulkDeleteService {
+
+    private final AnimeRepository animeRepository;
+    private final AnimeTombstoneRepository animeTombstoneRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache animeCache;
+    private final int batchSize;
+
+    public AnimeBulkDeleteService(AnimeRepository animeRepository, AnimeTombstoneRepository animeTombstoneRepository,
+        PlatformTransactionManager transactionManager, ApplicationEventPublisher eventPublisher,
+        CacheManager cacheManager, @Value("${anime.delete.batch-size}") int batchSize) {
+
+        this.animeRepository = animeRepository;
+        this.animeTombstoneRepository = animeTombstoneRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.animeCache = cacheManager.getCache(CachingConfig.ANIMES);
+        this.batchSize = batchSize;
+    }
+
+    public DeleteReport delete(AnimeBulkDeleteRequestBody request) {
+
+        if ((request.getIds() == null) == (request.getName() == null)) {
+            throw new BadRequestException("Either ids or name must be given");
+        }
+
+        long deleted = 0;
+        int batches = 0;
+
+        if (request.getIds() != null) {
+            List<Integer> ids = request.getIds().stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+            for (int from = 0; from < ids.size(); from += batchSize) {
+                List<Integer> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+                // as for names, selected and deleted in one transaction, so unknown ids are not announced
+                Integer batchDeleted = transactionTemplate.execute(status -> {
+                    List<Integer> existing = animeRepository.findExistingIds(batch);
+                    return existing.isEmpty() ? 0 : deleteBatch(existing);
+                });
+                deleted += batchDeleted == null ? 0 : batchDeleted;
+                batches++;
+            }
+        } else {
+            PageRequest page = PageRequest.of(0, batchSize);
+            int lastId = 0;
+            while (true) {
+                int after = lastId;
+                // selected and deleted in one transaction, so the events name exactly the rows removed
+                List<Integer> batch = transactionTemplate.execute(status -> {
+                    List<Integer> ids = animeRepository.findIdsByNameAndIdAfter(request.getName(), after, page);
+                    if (!ids.isEmpty()) {
+                        deleteBatch(ids);
+                    }
+                    return ids;
+                });
+                if (batch == null || batch.isEmpty()) {
+                    break;
+                }
+                deleted += batch.size();
+                batches++;
+                lastId = batch.get(batch.size() - 1);
+                if (batch.size() < batchSize) {
+                    break;
+                }
+            }
+        }
+
+        log.info("Anime bulk delete removed {} rows in {} batches", deleted, batches);
+        return DeleteReport.builder().deleted(deleted).batches(batches).build();
+    }
+
+    /**
+     * The bulk delete bypasses the entity listeners, so every id is announced here. Callers pass
+     * only ids read in the same transaction, so no tombstone or event names a row that never
+     * existed. The tombstones go out as one JDBC batch.
+     */
+    private int deleteBatch(List<Integer> ids) {
+        int deleted = animeRepository.deleteRows(ids);
+        animeTombstoneRepository.saveAll(AnimeTombstone.of(ids));
+        for (Integer id : ids) {
+            animeCache.evict(id);
+            eventPublisher.publishEvent(new AnimeChangedEvent(Type.DELETED, id, null));
+        }
+        return deleted;
+    }
+}
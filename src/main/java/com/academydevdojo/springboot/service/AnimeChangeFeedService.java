@@ -0,0 +1,183 @@
+package com.academydevdojo.springboot.service;
+
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.domain.AnimeTombstone;
+import com.academydevdojo.springboot.event.AnimeChangedEvent.Type;
+import com.academydevdojo.springboot.exception.ResyncRequiredException;
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.academydevdojo.springboot.repository.AnimeTombstoneRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Streams what changed in the catalog after a watermark as newline-delimited JSON: one
+ * {@code {"type":"CREATED"|"UPDATED","anime":{...}}} line per anime written since, then one
+ * {@code {"type":"DELETED","id":...,"deletedAt":...}} line per tombstone. Both come from index
+ * range scans, so a sync costs work in proportion to the changes, not to the catalog.
+ *
+ * <p>Timestamps are taken when a row is written, not when its transaction commits. The watermark
+ * handed back therefore trails the clock by the settle time, and rows written after it are sent
+ * again by the next sync. Mirrors must apply lines idempotently; in exchange no write is missed
+ * unless its transaction, plus the clock skew between instances, outlasts the settle time.
+ *
+ * <p>Tombstones are purged once they are older than the retention, so a watermark older than that
+ * could miss deletions and is refused: the mirror has to resync from scratch.
+ */
+@Log4j2
+@Service
+public class AnimeChangeFeedService implements SmartInitializingSingleton, DisposableBean {
+
+    public static final String WATERMARK_HEADER = "X-Sync-Watermark";
+
+    private static final int FLUSH_INTERVAL = 1000;
+    private static final Duration PURGE_INTERVAL = Duration.ofHours(1);
+
+    private final AnimeRepository animeRepository;
+    private final AnimeTombstoneRepository animeTombstoneRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter animeWriter;
+    private final Duration settleTime;
+    private final Duration tombstoneRetention;
+    private final ScheduledExecutorService purger;
+
+    public AnimeChangeFeedService(AnimeRepository animeRepository, AnimeTombstoneRepository animeTombstoneRepository,
+        EntityManager entityManager, ObjectMapper objectMapper,
+        @Value("${anime.changes.settle-time}") Duration settleTime,
+        @Value("${anime.changes.tombstone-retention}") Duration tombstoneRetention) {
+
+        this.animeRepository = animeRepository;
+        this.animeTombstoneRepository = animeTombstoneRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.animeWriter = objectMapper.writerFor(Anime.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.settleTime = settleTime;
+        this.tombstoneRetention = tombstoneRetention;
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("anime-tombstone-purge-");
+        threadFactory.setDaemon(true);
+        this.purger = Executors.newSingleThreadScheduledExecutor(threadFactory);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        purger.scheduleWithFixedDelay(this::purgeSafely, PURGE_INTERVAL.toMillis(), PURGE_INTERVAL.toMillis(),
+            TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The watermark to resume from after the changes since the given one; it never moves back.
+     *
+     * @throws ResyncRequiredException when the given one is older than the tombstone retention
+     */
+    public Instant watermark(Instant since) {
+
+        Instant now = Anime.modificationTime();
+        if (since != null && since.isBefore(now.minus(tombstoneRetention))) {
+            throw new ResyncRequiredException("Deletions before " + since + " are no longer kept, sync again without since");
+        }
+        Instant settled = now.minus(settleTime);
+        return since != null && since.isAfter(settled) ? since : settled;
+    }
+
+    private void purgeSafely() {
+        try {
+            purgeTombstones();
+        } catch (RuntimeException e) {
+            log.warn("Anime tombstone purge failed", e);
+        }
+    }
+
+    /**
+     * Keeps the settle time beyond the retention, so a sync accepted just before a purge still
+     * finds the tombstones it streams moments later.
+     */
+    int purgeTombstones() {
+        return animeTombstoneRepository.deleteDeletedBefore(
+            Anime.modificationTime().minus(tombstoneRetention).minus(settleTime));
+    }
+
+    /**
+     * Without a watermark every anime is sent as created, including the rows that predate the
+     * timestamps, and no tombstones, since the mirror starts out empty.
+     */
+    @Transactional(readOnly = true)
+    public long writeChanges(Instant since, OutputStream outputStream) throws IOException {
+
+        long written = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            try (Stream<Anime> animes = since == null
+                ? animeRepository.streamAll()
+                : animeRepository.streamModifiedAfter(since)) {
+
+                Iterator<Anime> iterator = animes.iterator();
+                while (iterator.hasNext()) {
+                    Anime anime = iterator.next();
+                    boolean created = since == null || (anime.getCreatedAt() != null && anime.getCreatedAt().isAfter(since));
+                    generator.writeStartObject();
+                    generator.writeStringField("type", (created ? Type.CREATED : Type.UPDATED).name());
+                    generator.writeFieldName("anime");
+                    animeWriter.writeValue(generator, anime);
+                    generator.writeEndObject();
+                    written = writeLineEnd(generator, written);
+                    entityManager.detach(anime);
+                }
+            }
+
+            if (since != null) {
+                try (Stream<AnimeTombstone> tombstones = animeTombstoneRepository.streamDeletedAfter(since)) {
+
+                    Iterator<AnimeTombstone> iterator = tombstones.iterator();
+                    while (iterator.hasNext()) {
+                        AnimeTombstone tombstone = iterator.next();
+                        generator.writeStartObject();
+                        generator.writeStringField("type", Type.DELETED.name());
+                        generator.writeNumberField("id", tombstone.getAnimeId());
+                        generator.writeFieldName("deletedAt");
+                        generator.writeObject(tombstone.getDeletedAt());
+                        generator.writeEndObject();
+                        written = writeLineEnd(generator, written);
+                        entityManager.detach(tombstone);
+                    }
+                }
+            }
+        }
+        return written;
+    }
+
+    @Override
+    public void destroy() {
+        purger.shutdownNow();
+    }
+
+    private static long writeLineEnd(JsonGenerator generator, long written) throws IOException {
+        generator.writeRaw('\n');
+        if (++written % FLUSH_INTERVAL == 0) {
+            generator.flush();
+        }
+        return written;
+    }
+}
@@ -0,0 +1,310 @@
+package com.academydevdojo.springboot.service;
+
+import com.academydevdojo.springboot.event.AnimeChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+/**
+ * Pushes every committed {@link AnimeChangedEvent} to the subscribers of the server-sent event
+ * stream, so copies of the catalog are invalidated by push instead of by polling. The committing
+ * thread only serializes the event once and queues it; writes to the clients happen on the sender
+ * threads, so a slow client never holds up a transaction.
+ *
+ * <p>Each subscriber has a bounded buffer. A subscriber whose buffer is full has fallen behind and
+ * is evicted: its stream is completed and the client, reconnecting with {@code Last-Event-ID},
+ * resumes from the recent history kept here. Event ids carry the epoch of this instance, so an id
+ * from another instance or before a restart, or one older than the history, cannot be resumed
+ * from; such a client gets a {@value #RESET} event and must resync, e.g. from the change feed.
+ */
+@Log4j2
+@Component
+public class AnimeEventBroadcaster implements DisposableBean {
+
+    public static final String RESET = "RESET";
+
+    private static final String EVENTS = "anime.events";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Object lock = new Object();
+
+    // guarded by lock, so a subscriber registers between two events and misses none
+    private final Deque<Event> history = new ArrayDeque<>();
+    private long sequence;
+
+    private final ObjectMapper objectMapper;
+    private final int historySize;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final ExecutorService senders;
+    private final ScheduledExecutorService heartbeats;
+    private final Counter published;
+    private final Counter evicted;
+
+    public AnimeEventBroadcaster(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+        @Value("${anime.events.history-size}") int historySize,
+        @Value("${anime.events.buffer-size}") int bufferSize,
+        @Value("${anime.events.sender-threads}") int senderThreads,
+        @Value("${anime.events.heartbeat}") Duration heartbeat,
+        @Value("${anime.events.timeout}") Duration timeout) {
+
+        this.objectMapper = objectMapper;
+        this.historySize = historySize;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.senders = Executors.newFixedThreadPool(senderThreads, daemonThreads("anime-events-"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("anime-events-heartbeat-"));
+        this.heartbeats.scheduleWithFixedDelay(this::heartbeat, heartbeat.toMillis(), heartbeat.toMillis(),
+            TimeUnit.MILLISECONDS);
+        this.published = meterRegistry.counter(EVENTS + ".published");
+        this.evicted = meterRegistry.counter(EVENTS + ".evicted");
+        meterRegistry.gaugeCollectionSize(EVENTS + ".subscribers", List.of(), subscribers);
+    }
+
+    private static CustomizableThreadFactory daemonThreads(String prefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(prefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+
+    /**
+     * Opens a stream that starts after the given event id, or at the next event without one.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        register(emitter, lastEventId);
+        return emitter;
+    }
+
+    void register(SseEmitter emitter, String lastEventId) {
+
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+
+        synchronized (lock) {
+            List<Event> missed = missedSince(lastEventId);
+            if (missed == null) {
+                subscriber.queue.add(new Event(currentId(), RESET, "{}"));
+            } else {
+                subscriber.queue.addAll(missed);
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.schedule();
+    }
+
+    /**
+     * Null when the events after the id can no longer be told apart from the ones already seen,
+     * or when there are more of them than a subscriber can buffer.
+     */
+    private List<Event> missedSince(String lastEventId) {
+
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of();
+        }
+        long lastSequence = sequenceOf(lastEventId);
+        if (lastSequence < 0 || lastSequence > sequence) {
+            return null;
+        }
+        long oldest = history.isEmpty() ? sequence + 1 : history.getFirst().sequence;
+        if (lastSequence < oldest - 1 || sequence - lastSequence > bufferSize) {
+            return null;
+        }
+
+        List<Event> missed = new ArrayList<>((int) (sequence - lastSequence));
+        for (Event event : history) {
+            if (event.sequence > lastSequence) {
+                missed.add(event);
+            }
+        }
+        return missed;
+    }
+
+    /**
+     * -1 when the id is malformed or was handed out by another epoch.
+     */
+    private long sequenceOf(String eventId) {
+
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String currentId() {
+        return epoch + "-" + sequence;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnimeChanged(AnimeChangedEvent change) {
+
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(change);
+        } catch (JsonProcessingException e) {
+            log.error("Anime change {} could not be serialized", change, e);
+            return;
+        }
+
+        synchronized (lock) {
+            sequence++;
+            Event event = new Event(sequence, currentId(), change.getType().name(), data);
+            history.addLast(event);
+            if (history.size() > historySize) {
+                history.removeFirst();
+            }
+            subscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+        published.increment();
+    }
+
+    /**
+     * Comment lines keep idle connections open through proxies and reveal clients that went away.
+     */
+    private void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(Event.HEARTBEAT));
+    }
+
+    private void evict(Subscriber subscriber) {
+
+        if (subscribers.remove(subscriber)) {
+            evicted.increment();
+            subscriber.closed = true;
+            subscriber.queue.clear();
+            execute(subscriber.emitter::complete);
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            senders.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("Anime event sender is shut down");
+        }
+    }
+
+    @Override
+    public void destroy() {
+
+        heartbeats.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        senders.shutdown();
+    }
+
+    private static final class Event {
+
+        static final Event HEARTBEAT = new Event(-1, null, null, null);
+
+        final long sequence;
+        final String id;
+        final String name;
+        final String data;
+
+        Event(String id, String name, String data) {
+            this(-1, id, name, data);
+        }
+
+        Event(long sequence, String id, String name, String data) {
+            this.sequence = sequence;
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+
+        /**
+         * Built for every send, as a builder cannot be sent twice.
+         */
+        SseEventBuilder toSse() {
+            if (data == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event().id(id).name(name).data(data, MediaType.APPLICATION_JSON);
+        }
+    }
+
+    /**
+     * At most one sender drains a subscriber at a time, so its events are written in order.
+     */
+    private final class Subscriber {
+
+        final SseEmitter emitter;
+        final BlockingQueue<Event> queue = new ArrayBlockingQueue<>(bufferSize);
+        final AtomicBoolean scheduled = new AtomicBoolean();
+        volatile boolean closed;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(Event event) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(event)) {
+                evict(this);
+                return;
+            }
+            schedule();
+        }
+
+        void schedule() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                execute(this::drain);
+            }
+        }
+
+        void drain() {
+            try {
+                Event event;
+                while (!closed && (event = queue.poll()) != null) {
+                    emitter.send(event.toSse());
+                }
+            } catch (IOException | IllegalStateException e) {
+                // the client went away or the stream already ended
+                closed = true;
+                subscribers.remove(this);
+            } finally {
+                scheduled.set(false);
+            }
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.academydevdojo.springboot.service;
+
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Writes the whole catalog as newline-delimited JSON straight from a database cursor. Every
+ * row is detached as soon as it is written, so heap use does not grow with the table.
+ */
+@Service
+public class AnimeExportService {
+
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final AnimeRepository animeRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter animeWriter;
+
+    public AnimeExportService(AnimeRepository animeRepository, EntityManager entityManager, ObjectMapper objectMapper) {
+        this.animeRepository = animeRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.animeWriter = objectMapper.writerFor(Anime.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportAll(OutputStream outputStream) throws IOException {
+
+        long exported = 0;
+        try (Stream<Anime> animes = animeRepository.streamAll();
+            JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+
+            Iterator<Anime> iterator = animes.iterator();
+            while (iterator.hasNext()) {
+                Anime anime = iterator.next();
+                animeWriter.writeValue(generator, anime);
+                generator.writeRaw('\n');
+                entityManager.detach(anime);
+
+                if (++exported % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return exported;
+    }
+}
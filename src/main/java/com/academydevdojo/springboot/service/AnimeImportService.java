@@ -0,0 +1,180 @@
+package com.academydevdojo.springboot.service;
+
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.wrapper.ImportReport;
+import com.academydevdojo.springboot.wrapper.ImportReport.RowError;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceException;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Imports a streamed NDJSON or CSV body. Rows are validated one by one and persisted in
+ * batches, each in its own short transaction that is flushed as JDBC batch inserts and then
+ * cleared, so a large import never holds one huge transaction or persistence context.
+ */
+@Log4j2
+@Service
+public class AnimeImportService {
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectReader animeReader;
+    private final Validator validator;
+    private final int batchSize;
+
+    public AnimeImportService(EntityManager entityManager, PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper, Validator validator, @Value("${anime.import.batch-size}") int batchSize) {
+
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.animeReader = objectMapper.readerFor(Anime.class);
+        this.validator = validator;
+        this.batchSize = batchSize;
+    }
+
+    public ImportReport importAnimes(InputStream inputStream, Format format) throws IOException {
+
+        ImportProgress progress = new ImportProgress();
+        List<Row> batch = new ArrayList<>(batchSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank() || (format == Format.CSV && lineNumber == 1 && "name".equalsIgnoreCase(line.trim()))) {
+                    continue;
+                }
+
+                progress.processed++;
+                Anime anime;
+                try {
+                    anime = format == Format.CSV ? parseCsv(line) : parseJson(line);
+                } catch (JsonProcessingException exception) {
+                    progress.fail(lineNumber, "Malformed row: " + exception.getOriginalMessage());
+                    continue;
+                } catch (IllegalArgumentException exception) {
+                    progress.fail(lineNumber, "Malformed row: " + exception.getMessage());
+                    continue;
+                }
+
+                Set<ConstraintViolation<Anime>> violations = validator.validate(anime);
+                if (!violations.isEmpty()) {
+                    progress.fail(lineNumber, violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                    continue;
+                }
+
+                batch.add(new Row(lineNumber, anime));
+                if (batch.size() == batchSize) {
+                    writeBatch(batch, progress);
+                    batch.clear();
+                }
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            writeBatch(batch, progress);
+        }
+
+        log.info("Anime import finished, {} imported and {} failed", progress.imported, progress.failed);
+        return progress.toReport();
+    }
+
+    private void writeBatch(List<Row> batch, ImportProgress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                batch.forEach(row -> entityManager.persist(row.anime));
+                entityManager.flush();
+                entityManager.clear();
+            });
+            progress.imported += batch.size();
+        } catch (DataAccessException | PersistenceException exception) {
+            log.warn("Anime import batch failed", exception);
+            String message = "Batch rejected: " + NestedExceptionUtils.getMostSpecificCause(exception).getMessage();
+            batch.forEach(row -> progress.fail(row.lineNumber, message));
+        }
+    }
+
+    private Anime parseJson(String line) throws JsonProcessingException {
+        Anime anime = animeReader.readValue(line);
+        if (anime == null) {
+            throw new IllegalArgumentException("row is null");
+        }
+        anime.setId(null);
+        return anime;
+    }
+
+    private static Anime parseCsv(String line) {
+        String name = line.trim();
+        if (name.length() >= 2 && name.startsWith("\"") && name.endsWith("\"")) {
+            name = name.substring(1, name.length() - 1).replace("\"\"", "\"");
+        } else if (name.indexOf('"') >= 0) {
+            throw new IllegalArgumentException("unbalanced quotes");
+        }
+        return Anime.builder().name(name).build();
+    }
+
+    private static final class Row {
+
+        private final long lineNumber;
+        private final Anime anime;
+
+        private Row(long lineNumber, Anime anime) {
+            this.lineNumber = lineNumber;
+            this.anime = anime;
+        }
+    }
+
+    private static final class ImportProgress {
+
+        private long processed;
+        private long imported;
+        private long failed;
+        private final List<RowError> errors = new ArrayList<>();
+
+        private void fail(long lineNumber, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(lineNumber, message));
+            }
+        }
+
+        private ImportReport toReport() {
+            return ImportReport.builder()
+                .processed(processed)
+                .imported(imported)
+                .failed(failed)
+                .errors(errors)
+                .build();
+        }
+    }
+}
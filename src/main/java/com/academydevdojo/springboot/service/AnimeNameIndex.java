@@ -0,0 +1,97 @@
+package com.academydevdojo.springboot.service;
+
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.event.AnimeChangedEvent;
+import com.academydevdojo.springboot.event.AnimeChangedEvent.Type;
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Base of the in-memory indexes over anime names. The index is loaded from the table before the
+ * application starts serving requests and then follows committed {@link AnimeChangedEvent}s.
+ * Changes seen while loading take precedence over the rows being loaded, and rows deleted while
+ * loading are not restored.
+ */
+@Log4j2
+public abstract class AnimeNameIndex implements SmartInitializingSingleton {
+
+    private final Set<Integer> deletedWhileLoading = ConcurrentHashMap.newKeySet();
+    private volatile boolean loading;
+
+    private final AnimeRepository animeRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    protected AnimeNameIndex(AnimeRepository animeRepository, EntityManager entityManager,
+        PlatformTransactionManager transactionManager) {
+
+        this.animeRepository = animeRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        load();
+    }
+
+    void load() {
+
+        long start = System.nanoTime();
+        loading = true;
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Anime> animes = animeRepository.streamAll()) {
+                    animes.forEach(anime -> {
+                        put(anime.getId(), anime.getName(), false);
+                        entityManager.detach(anime);
+                    });
+                }
+            });
+        } finally {
+            loading = false;
+            deletedWhileLoading.clear();
+        }
+        log.info("{} loaded {} names in {} ms", getClass().getSimpleName(), size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAnimeChanged(AnimeChangedEvent event) {
+        if (event.getType() == Type.DELETED) {
+            if (loading) {
+                deletedWhileLoading.add(event.getId());
+            }
+            remove(event.getId());
+        } else {
+            put(event.getId(), event.getName(), true);
+        }
+    }
+
+    /**
+     * Must be checked atomically with the insert, under whatever guards the entry for this id.
+     */
+    protected boolean isDeletedWhileLoading(int id) {
+        return deletedWhileLoading.contains(id);
+    }
+
+    /**
+     * Adds or renames an entry. When {@code replace} is false the row comes from the initial load
+     * and must be skipped if the id is already indexed or {@link #isDeletedWhileLoading deleted}.
+     */
+    protected abstract void put(int id, String name, boolean replace);
+
+    protected abstract void remove(int id);
+
+    public abstract int size();
+}
@@ -0,0 +1,347 @@
+package com.academydevdojo.springboot.service;
+
+import com.academydevdojo.springboot.exception.BadRequestException;
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.academydevdojo.springboot.util.AnimeNameNormalizer;
+import com.academydevdojo.springboot.wrapper.AnimeSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Fuzzy name search over a trigram inverted index. Every name is normalized and split into
+ * padded trigrams, each mapping to the ordinals of the names containing it. A query only visits
+ * the postings of its own trigrams and ranks the names by the Dice coefficient of the two trigram
+ * sets, so misspelled or differently punctuated titles still match without a table scan. Only
+ * the shortest postings are scanned for candidates; the longest ones are just probed for the
+ * candidates already found.
+ *
+ * <p>Renames and deletes leave the old ordinal behind as a dead slot; the postings are rebuilt
+ * once dead slots outnumber live names.
+ */
+@Component
+public class AnimeSearchIndex extends AnimeNameIndex {
+
+    public static final int MAX_RESULTS = 50;
+
+    private static final double MIN_SIMILARITY = 0.3;
+    private static final int MIN_DEAD_SLOTS_TO_COMPACT = 1024;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Integer, Integer> ordinalsById = new HashMap<>();
+    private final BlockingQueue<Scratch> scratchPool =
+        new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors() * 2);
+    private Entry[] entries = new Entry[1024];
+    private int slots;
+    private long postingCount;
+
+    public AnimeSearchIndex(AnimeRepository animeRepository, EntityManager entityManager,
+        PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+
+        super(animeRepository, entityManager, transactionManager);
+
+        Gauge.builder("anime.search.index.entries", this, AnimeSearchIndex::size)
+            .description("Names held by the fuzzy search index")
+            .register(meterRegistry);
+        Gauge.builder("anime.search.index.postings", this, AnimeSearchIndex::postingCount)
+            .description("Trigram postings held by the fuzzy search index, dead slots included")
+            .register(meterRegistry);
+    }
+
+    public List<AnimeSummary> search(String query, int limit) {
+
+        if (limit < 1 || limit > MAX_RESULTS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_RESULTS);
+        }
+
+        Set<String> queryTrigrams = trigrams(AnimeNameNormalizer.normalize(query));
+        if (queryTrigrams.isEmpty()) {
+            return List.of();
+        }
+
+        TopHits best = new TopHits(limit);
+        Scratch counters = Optional.ofNullable(scratchPool.poll()).orElseGet(Scratch::new);
+        lock.readLock().lock();
+        try {
+            int[] shared = counters.shared(slots);
+            Postings touched = counters.touched;
+
+            Postings[] lists = queryTrigrams.stream()
+                .map(postings::get)
+                .filter(Objects::nonNull)
+                .sorted(Comparator.comparingInt(list -> list.size))
+                .toArray(Postings[]::new);
+
+            // only names found in one of the shortest lists can share enough trigrams with the query
+            int candidateLists = lists.length - minCommonTrigrams(queryTrigrams.size()) + 1;
+            for (int list = 0; list < lists.length; list++) {
+                Postings matches = lists[list];
+                if (list < candidateLists) {
+                    for (int i = 0; i < matches.size; i++) {
+                        int ordinal = matches.ordinals[i];
+                        if (shared[ordinal]++ == 0) {
+                            touched.add(ordinal);
+                        }
+                    }
+                } else if (touched.size * log2(matches.size) < matches.size) {
+                    for (int i = 0; i < touched.size; i++) {
+                        int ordinal = touched.ordinals[i];
+                        if (Arrays.binarySearch(matches.ordinals, 0, matches.size, ordinal) >= 0) {
+                            shared[ordinal]++;
+                        }
+                    }
+                } else {
+                    for (int i = 0; i < matches.size; i++) {
+                        int ordinal = matches.ordinals[i];
+                        if (shared[ordinal] > 0) {
+                            shared[ordinal]++;
+                        }
+                    }
+                }
+            }
+
+            for (int i = 0; i < touched.size; i++) {
+                int ordinal = touched.ordinals[i];
+                int common = shared[ordinal];
+                shared[ordinal] = 0;
+                Entry entry = entries[ordinal];
+                if (entry == null) {
+                    continue;
+                }
+                double score = 2.0 * common / (queryTrigrams.size() + entry.trigrams);
+                if (score >= MIN_SIMILARITY) {
+                    best.offer(entry, score);
+                }
+            }
+            touched.size = 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+        scratchPool.offer(counters);
+
+        return best.toSummaries();
+    }
+
+    /**
+     * Dice = 2c / (q + t) with c <= t, so reaching the threshold takes at least this many shared
+     * trigrams whatever the length of the name.
+     */
+    private static int minCommonTrigrams(int queryTrigrams) {
+        return (int) Math.ceil(MIN_SIMILARITY * queryTrigrams / (2 - MIN_SIMILARITY) - 1e-9);
+    }
+
+    private static int log2(int value) {
+        return 32 - Integer.numberOfLeadingZeros(value);
+    }
+
+    @Override
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long postingCount() {
+        lock.readLock().lock();
+        try {
+            return postingCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected void put(int id, String name, boolean replace) {
+
+        Set<String> trigrams = trigrams(AnimeNameNormalizer.normalize(name));
+        lock.writeLock().lock();
+        try {
+            Integer previous = ordinalsById.get(id);
+            if (!replace && (previous != null || isDeletedWhileLoading(id))) {
+                return;
+            }
+            if (previous != null) {
+                entries[previous] = null;
+            }
+            append(new Entry(id, name, trigrams.size()), trigrams);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    protected void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            Integer previous = ordinalsById.remove(id);
+            if (previous != null) {
+                entries[previous] = null;
+                compactIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void append(Entry entry, Set<String> trigrams) {
+        if (slots == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        int ordinal = slots++;
+        entries[ordinal] = entry;
+        ordinalsById.put(entry.id, ordinal);
+        for (String trigram : trigrams) {
+            postings.computeIfAbsent(trigram, ignored -> new Postings()).add(ordinal);
+        }
+        postingCount += trigrams.size();
+    }
+
+    private void compactIfNeeded() {
+
+        int dead = slots - ordinalsById.size();
+        if (dead < MIN_DEAD_SLOTS_TO_COMPACT || dead < ordinalsById.size()) {
+            return;
+        }
+
+        Entry[] live = new Entry[ordinalsById.size()];
+        int count = 0;
+        for (int i = 0; i < slots; i++) {
+            if (entries[i] != null) {
+                live[count++] = entries[i];
+            }
+        }
+
+        entries = new Entry[Math.max(1024, live.length * 2)];
+        slots = 0;
+        postingCount = 0;
+        postings.clear();
+        ordinalsById.clear();
+        for (Entry entry : live) {
+            append(entry, trigrams(AnimeNameNormalizer.normalize(entry.name)));
+        }
+    }
+
+    /**
+     * Trigrams of the name padded with two leading blanks and one trailing blank, so the start of
+     * the name weighs more than its middle and one or two character queries still match.
+     */
+    static Set<String> trigrams(String normalizedName) {
+        if (normalizedName.isEmpty()) {
+            return Set.of();
+        }
+        String padded = "  " + normalizedName + " ";
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    private static final class Entry {
+
+        private final int id;
+        private final String name;
+        private final int trigrams;
+
+        private Entry(int id, String name, int trigrams) {
+            this.id = id;
+            this.name = name;
+            this.trigrams = trigrams;
+        }
+    }
+
+    /**
+     * The best hits so far, best first, kept in plain arrays so scoring a candidate that does not
+     * make the cut allocates nothing.
+     */
+    private static final class TopHits {
+
+        private final Entry[] entries;
+        private final double[] scores;
+        private int size;
+
+        private TopHits(int limit) {
+            this.entries = new Entry[limit];
+            this.scores = new double[limit];
+        }
+
+        private void offer(Entry entry, double score) {
+            if (size == entries.length && !isBetter(entry, score, size - 1)) {
+                return;
+            }
+            int position = Math.min(size, entries.length - 1);
+            while (position > 0 && isBetter(entry, score, position - 1)) {
+                entries[position] = entries[position - 1];
+                scores[position] = scores[position - 1];
+                position--;
+            }
+            entries[position] = entry;
+            scores[position] = score;
+            size = Math.min(size + 1, entries.length);
+        }
+
+        private boolean isBetter(Entry entry, double score, int position) {
+            return score > scores[position] || (score == scores[position] && entry.id < entries[position].id);
+        }
+
+        private List<AnimeSummary> toSummaries() {
+            List<AnimeSummary> summaries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                summaries.add(new AnimeSummary(entries[i].id, entries[i].name));
+            }
+            return summaries;
+        }
+    }
+
+    private static final class Postings {
+
+        private int[] ordinals = new int[4];
+        private int size;
+
+        private void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            ordinals[size++] = ordinal;
+        }
+    }
+
+    /**
+     * Match counters, one per slot, pooled across queries and only returned to the pool once
+     * reset. Only touched slots are reset, so a search costs the postings it reads rather than the
+     * size of the index.
+     */
+    private static final class Scratch {
+
+        private int[] shared = new int[0];
+        private final Postings touched = new Postings();
+
+        private int[] shared(int slots) {
+            if (shared.length < slots) {
+                shared = new int[Math.max(slots, shared.length * 2)];
+            }
+            return shared;
+        }
+    }
+}
@@ -1,11 +1,35 @@
 package com.academydevdojo.springboot.service;
 
+import com.academydevdojo.springboot.config.CachingConfig;
+import com.academydevdojo.springboot.config.MetricsConfig;
 import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.domain.AnimeTombstone;
+import com.academydevdojo.springboot.event.AnimeChangedEvent;
+import com.academydevdojo.springboot.event.AnimeChangedEvent.Type;
 import com.academydevdojo.springboot.exception.BadRequestException;
 import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.academydevdojo.springboot.repository.AnimeTombstoneRepository;
+import com.academydevdojo.springboot.requests.AnimePatchRequestBody;
+import com.academydevdojo.springboot.util.AnimeCursor;
+import com.academydevdojo.springboot.util.AnimeCursor.SortKey;
+import com.academydevdojo.springboot.wrapper.CursorPage;
+import com.academydevdojo.springboot.wrapper.MultiGetResponse;
+import io.micrometer.core.annotation.Timed;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,34 +39,195 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AnimeService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 500;
+    private static final int MULTI_GET_CHUNK_SIZE = 500;
+    private static final int MAX_MULTI_GET_IDS = 1000;
+
     public final AnimeRepository animeRepository;
+    private final AnimeTombstoneRepository animeTombstoneRepository;
+    private final LookupCoalescer lookupCoalescer;
+    private final MissingAnimeIds missingAnimeIds;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Timed(value = MetricsConfig.SERVICE_CALLS, histogram = true)
     public Page<Anime> listAll(Pageable pageable) {
 
-        return animeRepository.findAll(pageable);
+        return animeRepository.findDetachedBy(pageable);
+    }
+
+    @Timed(value = MetricsConfig.SERVICE_CALLS, histogram = true)
+    public Slice<Anime> listSlice(Pageable pageable) {
+
+        return animeRepository.findDetachedSliceBy(pageable);
+    }
+
+    @Timed(value = MetricsConfig.SERVICE_CALLS, histogram = true)
+    public CursorPage<Anime> listByCursor(String cursor, String sort, int size) {
+
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new BadRequestException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+        }
+
+        AnimeCursor after = cursor == null ? null : AnimeCursor.decode(cursor);
+        SortKey sortKey = after == null ? SortKey.from(sort) : after.getSortKey();
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        List<Anime> animes;
+        if (sortKey == SortKey.NAME) {
+            animes = after == null
+                ? animeRepository.findAllByOrderByNameAscIdAsc(limit)
+                : animeRepository.findByNameAndIdAfter(after.getLastName(), after.getLastId(), limit);
+        } else {
+            animes = animeRepository.findByIdGreaterThanOrderByIdAsc(after == null ? 0 : after.getLastId(), limit);
+        }
+
+        if (animes.size() <= size) {
+            return new CursorPage<>(animes, animes.size(), null);
+        }
+
+        List<Anime> content = animes.subList(0, size);
+        return new CursorPage<>(content, size, AnimeCursor.after(sortKey, content.get(size - 1)).encode());
     }
 
+    @Timed(value = MetricsConfig.SERVICE_CALLS, histogram = true)
     public List<Anime> findByName(String name) {
-        return animeRepository.findByName(name);
+        return lookupCoalescer.load("findByName", name, () -> List.copyOf(animeRepository.findByName(name)),
+            animes -> animes.stream().map(Anime::copy).collect(Collectors.toUnmodifiableList()));
     }
 
+    @Timed(value = MetricsConfig.SERVICE_CALLS, histogram = true)
+    public MultiGetResponse<Anime> findAllById(Collection<Integer> ids) {
+
+        if (ids.size() > MAX_MULTI_GET_IDS) {
+            throw new BadRequestException("At most " + MAX_MULTI_GET_IDS + " ids can be requested at once");
+        }
+
+        List<Integer> requestedIds = ids.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .collect(Collectors.toList());
+
+        Map<Integer, Anime> animesById = new HashMap<>(requestedIds.size() * 2);
+        for (int from = 0; from < requestedIds.size(); from += MULTI_GET_CHUNK_SIZE) {
+            List<Integer> chunk = requestedIds.subList(from, Math.min(from + MULTI_GET_CHUNK_SIZE, requestedIds.size()));
+            animeRepository.findDetachedByIdIn(chunk).forEach(anime -> animesById.put(anime.getId(), anime));
+        }
+
+        List<Anime> content = new ArrayList<>(animesById.size());
+        List<Integer> missingIds = new ArrayList<>();
+        for (Integer id : requestedIds) {
+            Anime anime = animesById.get(id);
+            if (anime == null) {
+                missingIds.add(id);
+            } else {
+                content.add(anime);
+            }
+        }
+        return new MultiGetResponse<>(content, missingIds);
+    }
+
+    /**
+     * Synchronized with the cache, whose loads then never put back a row a concurrent write evicted.
+     */
+    @Timed(value = MetricsConfig.SERVICE_CALLS, histogram = true)
+    @Cacheable(cacheNames = CachingConfig.ANIMES, key = "#id", sync = true)
     public Anime findById(int id) {
-        return animeRepository.findById(id).orElseThrow(() -> new BadRequestException("Anime not found"));
+        if (missingAnimeIds.isKnownMissing(id)) {
+            throw animeNotFound();
+        }
+        return lookupCoalescer.load("findById", id, () -> animeRepository.findDetachedById(id).orElseThrow(() -> {
+            missingAnimeIds.remember(id);
+            return animeNotFound();
+        }), Anime::copy);
     }
 
+    private static BadRequestException animeNotFound() {
+        return new BadRequestException("Anime not found", false);
+    }
+
+    /**
+     * Flushes at once: pooled ids defer the INSERT to the commit, whose flush would publish the
+     * change only after the outbox had its chance to record it.
+     */
+    @Timed(value = MetricsConfig.SERVICE_CALLS, histogram = true)
     @Transactional
+    @CacheEvict(cacheNames = CachingConfig.ANIMES, key = "#anime.id", condition = "#anime.id != null")
     public Anime save(Anime anime) {
 
         System.out.println("Anime 1 :" + anime);
 
-        return animeRepository.save(anime);
+        return animeRepository.saveAndFlush(anime);
     }
 
+    /**
+     * Deletes with one statement and no read first; see {@link #patch} for how a missing id is
+     * handled. The tombstone for the change feed is inserted in the same transaction.
+     */
+    @Timed(value = MetricsConfig.SERVICE_CALLS, histogram = true)
+    @Transactional(noRollbackFor = BadRequestException.class)
+    @CacheEvict(cacheNames = CachingConfig.ANIMES, key = "#id")
     public void delete(int id) {
-        animeRepository.delete(findById(id));
+
+        if (missingAnimeIds.isKnownMissing(id)) {
+            throw animeNotFound();
+        }
+        if (animeRepository.deleteRow(id) == 0) {
+            missingAnimeIds.remember(id);
+            throw animeNotFound();
+        }
+        animeTombstoneRepository.saveAll(AnimeTombstone.of(List.of(id)));
+        eventPublisher.publishEvent(new AnimeChangedEvent(Type.DELETED, id, null));
+    }
+
+    /**
+     * Writes the name with one versioned UPDATE instead of a read and a merge. The version of the
+     * body, or the one required by the caller, must still be current, so a writer that read an
+     * older state cannot overwrite a newer one; without a version the update is unconditional.
+     */
+    @Timed(value = MetricsConfig.SERVICE_CALLS, histogram = true)
+    @Transactional(noRollbackFor = BadRequestException.class)
+    @CacheEvict(cacheNames = CachingConfig.ANIMES, key = "#anime.id", condition = "#anime.id != null")
+    public void update(Anime anime, Integer expectedVersion) {
+
+        if (anime.getId() == null) {
+            throw new BadRequestException("The anime id is required");
+        }
+        rename(anime.getId(), anime.getName(), expectedVersion != null ? expectedVersion : anime.getVersion());
+    }
+
+    /**
+     * Applies the non-null fields with one UPDATE; an unknown id costs that single statement, or
+     * none once it is known to be missing. Nothing is written when the id is missing, so the
+     * transaction still commits and the miss is remembered.
+     */
+    @Timed(value = MetricsConfig.SERVICE_CALLS, histogram = true)
+    @Transactional(noRollbackFor = BadRequestException.class)
+    @CacheEvict(cacheNames = CachingConfig.ANIMES, key = "#id")
+    public void patch(int id, AnimePatchRequestBody patch, Integer expectedVersion) {
+
+        if (patch.getName() == null) {
+            throw new BadRequestException("The patch does not change any field");
+        }
+        rename(id, patch.getName(), expectedVersion);
     }
 
-    public void update(Anime anime) {
+    /**
+     * A stale version is told apart from a missing id only when the UPDATE matched nothing, which
+     * costs one more query on that path alone.
+     */
+    private void rename(int id, String name, Integer expectedVersion) {
 
-        animeRepository.save(anime);
+        if (missingAnimeIds.isKnownMissing(id)) {
+            throw animeNotFound();
+        }
+        if (animeRepository.updateName(id, name, expectedVersion, Anime.modificationTime()) == 0) {
+            if (expectedVersion != null && animeRepository.existsById(id)) {
+                throw new OptimisticLockingFailureException(
+                    "Anime " + id + " was changed since version " + expectedVersion);
+            }
+            missingAnimeIds.remember(id);
+            throw animeNotFound();
+        }
+        eventPublisher.publishEvent(new AnimeChangedEvent(Type.UPDATED, id, name));
     }
 }
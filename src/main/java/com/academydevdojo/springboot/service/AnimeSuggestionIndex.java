@@ -0,0 +1,113 @@
+package com.academydevdojo.springboot.service;
+
+import com.academydevdojo.springboot.exception.BadRequestException;
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.academydevdojo.springboot.util.AnimeNameNormalizer;
+import com.academydevdojo.springboot.wrapper.AnimeSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Typeahead over anime names. Entries live in a skip list sorted by normalized name, so a prefix
+ * query is a range scan that stops after the requested number of hits and never blocks on
+ * writers.
+ */
+@Component
+public class AnimeSuggestionIndex extends AnimeNameIndex {
+
+    public static final int MAX_SUGGESTIONS = 50;
+
+    private static final char KEY_SEPARATOR = '\u0000';
+    // rough cost of the skip list node, the key and value objects and the id map entry
+    private static final long ENTRY_OVERHEAD_BYTES = 200;
+
+    private final ConcurrentSkipListMap<String, AnimeSummary> entries = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<Integer, String> keysById = new ConcurrentHashMap<>();
+    private final AtomicLong estimatedBytes = new AtomicLong();
+
+    public AnimeSuggestionIndex(AnimeRepository animeRepository, EntityManager entityManager,
+        PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+
+        super(animeRepository, entityManager, transactionManager);
+
+        Gauge.builder("anime.suggest.index.entries", entries, ConcurrentSkipListMap::size)
+            .description("Names held by the typeahead index")
+            .register(meterRegistry);
+        Gauge.builder("anime.suggest.index.memory", estimatedBytes, AtomicLong::get)
+            .description("Estimated heap used by the typeahead index")
+            .baseUnit("bytes")
+            .register(meterRegistry);
+    }
+
+    public List<AnimeSummary> suggest(String prefix, int limit) {
+
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new BadRequestException("Limit must be between 1 and " + MAX_SUGGESTIONS);
+        }
+
+        String normalizedPrefix = AnimeNameNormalizer.normalize(prefix);
+        if (normalizedPrefix.isEmpty()) {
+            return List.of();
+        }
+
+        List<AnimeSummary> suggestions = new ArrayList<>(limit);
+        for (AnimeSummary anime : entries.subMap(normalizedPrefix, normalizedPrefix + Character.MAX_VALUE).values()) {
+            suggestions.add(anime);
+            if (suggestions.size() == limit) {
+                break;
+            }
+        }
+        return suggestions;
+    }
+
+    @Override
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    protected void put(int id, String name, boolean replace) {
+
+        String key = AnimeNameNormalizer.normalize(name) + KEY_SEPARATOR + id;
+        keysById.compute(id, (ignored, previousKey) -> {
+            if (!replace && (previousKey != null || isDeletedWhileLoading(id))) {
+                return previousKey;
+            }
+            if (previousKey != null) {
+                release(previousKey, entries.remove(previousKey));
+            }
+            AnimeSummary suggestion = new AnimeSummary(id, name);
+            entries.put(key, suggestion);
+            estimatedBytes.addAndGet(sizeOf(key, suggestion));
+            return key;
+        });
+    }
+
+    @Override
+    protected void remove(int id) {
+        keysById.computeIfPresent(id, (ignored, key) -> {
+            release(key, entries.remove(key));
+            return null;
+        });
+    }
+
+    private void release(String key, AnimeSummary suggestion) {
+        if (suggestion != null) {
+            estimatedBytes.addAndGet(-sizeOf(key, suggestion));
+        }
+    }
+
+    private static long sizeOf(String key, AnimeSummary suggestion) {
+        int nameLength = suggestion.getName() == null ? 0 : suggestion.getName().length();
+        return ENTRY_OVERHEAD_BYTES + 2L * (key.length() + nameLength);
+    }
+}
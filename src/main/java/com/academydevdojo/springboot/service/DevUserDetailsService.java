@@ -1,6 +1,8 @@
 package com.academydevdojo.springboot.service;
 
+import com.academydevdojo.springboot.config.MetricsConfig;
 import com.academydevdojo.springboot.repository.DevUserRepository;
+import io.micrometer.core.annotation.Timed;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -15,6 +17,7 @@ public class DevUserDetailsService implements UserDetailsService {
     private final DevUserRepository repository;
 
     @Override
+    @Timed(value = MetricsConfig.SERVICE_CALLS, histogram = true)
     public UserDetails loadUserByUsername(String userName) {
         return Optional.ofNullable(repository.findByUsername(userName))
             .orElseThrow(() -> new UsernameNotFoundException("User Name not found"));
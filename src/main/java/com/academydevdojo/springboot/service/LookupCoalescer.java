@@ -0,0 +1,85 @@
+package com.academydevdojo.springboot.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Lets only one load per key run at a time: callers arriving while a load for the same key is in
+ * flight wait for it and share its result or exception. Nothing is kept once the load finishes,
+ * so this complements a result cache rather than replacing one.
+ *
+ * <p>Waiters get the leader's view of the database, which can be older than the moment they
+ * arrived: a caller that joins a load started before its own write committed may get the state
+ * from before that write. Each waiter gets its own copy of the leader's result, made by the
+ * given copy function; without one, every caller gets the same object, so the loader must return
+ * values that cannot be modified.
+ */
+@Component
+public class LookupCoalescer {
+
+    private static final String LOOKUPS = "anime.lookups";
+
+    private final ConcurrentMap<List<Object>, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public LookupCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize(LOOKUPS + ".in.flight", List.of(), inFlight);
+    }
+
+    public <T> T load(String operation, Object key, Supplier<T> loader) {
+        return load(operation, key, loader, UnaryOperator.identity());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T load(String operation, Object key, Supplier<T> loader, UnaryOperator<T> copy) {
+
+        List<Object> flightKey = List.of(operation, key);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(flightKey, flight);
+
+        if (leader != null) {
+            counter(operation, "coalesced").increment();
+            return copy.apply((T) await(leader));
+        }
+
+        counter(operation, "loaded").increment();
+        try {
+            T value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error exception) {
+            flight.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            inFlight.remove(flightKey, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> leader) {
+        try {
+            return leader.join();
+        } catch (CompletionException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw exception;
+        }
+    }
+
+    private Counter counter(String operation, String result) {
+        return meterRegistry.counter(LOOKUPS, "operation", operation, "result", result);
+    }
+}
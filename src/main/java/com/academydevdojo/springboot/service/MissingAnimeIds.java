@@ -0,0 +1,50 @@
+package com.academydevdojo.springboot.service;
+
+import com.academydevdojo.springboot.config.CachingConfig;
+import com.academydevdojo.springboot.domain.Anime;
+import javax.persistence.PostPersist;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Remembers ids that were just looked up and not found, so repeated lookups of them are answered
+ * without a query. Ids are forgotten when an anime is inserted with them, on every write path,
+ * and otherwise expire after the short TTL of the {@code missingAnimes} cache.
+ */
+@Component
+@RequiredArgsConstructor
+public class MissingAnimeIds {
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    public boolean isKnownMissing(int id) {
+        if (id < 1) {
+            return true;
+        }
+        Cache cache = cache();
+        return cache != null && cache.get(id) != null;
+    }
+
+    public void remember(int id) {
+        Cache cache = cache();
+        if (cache != null) {
+            cache.put(id, Boolean.TRUE);
+        }
+    }
+
+    @PostPersist
+    public void forget(Anime anime) {
+        Cache cache = cache();
+        if (cache != null && anime.getId() != null) {
+            cache.evict(anime.getId());
+        }
+    }
+
+    private Cache cache() {
+        CacheManager manager = cacheManager.getIfAvailable();
+        return manager == null ? null : manager.getCache(CachingConfig.MISSING_ANIMES);
+    }
+}
@@ -0,0 +1,56 @@
+package com.academydevdojo.springboot.util;
+
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.exception.BadRequestException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import lombok.Value;
+
+/**
+ * Opaque continuation token for keyset pagination. It remembers the sort key and the
+ * (sort value, id) of the last row returned, so the next page seeks past it instead of
+ * skipping rows with OFFSET.
+ */
+@Value
+public class AnimeCursor {
+
+    public enum SortKey {
+        ID, NAME;
+
+        public static SortKey from(String value) {
+            try {
+                return SortKey.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException exception) {
+                throw new BadRequestException("Invalid sort, use 'id' or 'name'");
+            }
+        }
+    }
+
+    private static final String SEPARATOR = "|";
+
+    SortKey sortKey;
+    int lastId;
+    String lastName;
+
+    public static AnimeCursor after(SortKey sortKey, Anime anime) {
+        return new AnimeCursor(sortKey, anime.getId(), sortKey == SortKey.NAME ? anime.getName() : null);
+    }
+
+    public String encode() {
+        String payload = sortKey.name() + SEPARATOR + lastId + SEPARATOR + (lastName == null ? "" : lastName);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AnimeCursor decode(String token) {
+        try {
+            String payload = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = payload.split("\\" + SEPARATOR, 3);
+            SortKey sortKey = SortKey.valueOf(parts[0]);
+            int lastId = Integer.parseInt(parts[1]);
+            String lastName = sortKey == SortKey.NAME ? parts[2] : null;
+            return new AnimeCursor(sortKey, lastId, lastName);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException exception) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.academydevdojo.springboot.util;
+
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.exception.BadRequestException;
+import java.nio.ByteBuffer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Strong ETags derived from the anime versions, so they are computed without serializing the
+ * response. A single anime is tagged with its version; a page with a digest of the ids and
+ * versions it holds and of the position and total that frame them.
+ */
+public final class AnimeETags {
+
+    private AnimeETags() {
+    }
+
+    public static String of(Anime anime) {
+        return "\"" + anime.getVersion() + "\"";
+    }
+
+    /**
+     * The representation is part of the digest, since a page and a lean page of the same rows
+     * are different bodies.
+     */
+    public static String of(Slice<Anime> animes, boolean lean) {
+
+        ByteBuffer state = ByteBuffer.allocate(Integer.BYTES * (4 + 2 * animes.getNumberOfElements()) + Long.BYTES);
+        state.putInt(lean ? 1 : 0)
+            .putInt(animes.getNumber())
+            .putInt(animes.getSize())
+            .putInt(animes.hasNext() ? 1 : 0)
+            .putLong(animes instanceof Page ? ((Page<Anime>) animes).getTotalElements() : -1);
+        for (Anime anime : animes) {
+            state.putInt(anime.getId()).putInt(anime.getVersion() == null ? -1 : anime.getVersion());
+        }
+        return "\"" + DigestUtils.md5DigestAsHex(state.array()) + "\"";
+    }
+
+    /**
+     * The version an {@code If-Match} header requires, or null when it accepts any version.
+     */
+    public static Integer versionOf(String ifMatch) {
+
+        if (ifMatch == null || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String eTag = ifMatch.trim();
+        if (eTag.length() > 2 && eTag.startsWith("\"") && eTag.endsWith("\"")) {
+            try {
+                return Integer.valueOf(eTag.substring(1, eTag.length() - 1));
+            } catch (NumberFormatException ignored) {
+                // reported below
+            }
+        }
+        throw new BadRequestException("If-Match must carry a single strong ETag of the anime");
+    }
+}
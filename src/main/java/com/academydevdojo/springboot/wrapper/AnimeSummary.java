@@ -0,0 +1,22 @@
+package com.academydevdojo.springboot.wrapper;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+/**
+ * The id and name of an anime as kept by the in-memory name indexes. It has no version or
+ * timestamps, so it cannot be mistaken for a full anime and used for conditional requests.
+ */
+@Value
+public class AnimeSummary {
+
+    int id;
+    String name;
+
+    @JsonCreator
+    public AnimeSummary(@JsonProperty("id") int id, @JsonProperty("name") String name) {
+        this.id = id;
+        this.name = name;
+    }
+}
@@ -0,0 +1,16 @@
+package com.academydevdojo.springboot.wrapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class DeleteReport {
+
+    private long deleted;
+    private int batches;
+}
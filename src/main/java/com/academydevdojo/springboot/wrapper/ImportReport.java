@@ -0,0 +1,28 @@
+package com.academydevdojo.springboot.wrapper;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ImportReport {
+
+    private long processed;
+    private long imported;
+    private long failed;
+    private List<RowError> errors;
+
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,117 @@
+package com.academydevdojo.springboot.wrapper;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.List;
+import lombok.Getter;
+import lombok.ToString;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
+
+/**
+ * Compact page envelope served as {@link #MEDIA_TYPE}: the content, the page number and size, the
+ * next page number while there is one and the total only when it was counted. Unlike
+ * {@link PageableResponse} it carries no pageable and sort objects, which the client already knows
+ * from its own request.
+ */
+@Getter
+@ToString
+@JsonSerialize(using = LeanPage.Serializer.class)
+public class LeanPage<T> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.anime.page+json";
+    public static final MediaType MEDIA_TYPE = MediaType.valueOf(MEDIA_TYPE_VALUE);
+
+    private final List<T> content;
+    private final int page;
+    private final int size;
+    private final Integer nextPage;
+    private final Long totalElements;
+
+    @JsonCreator
+    public LeanPage(@JsonProperty("content") List<T> content,
+        @JsonProperty("page") int page,
+        @JsonProperty("size") int size,
+        @JsonProperty("nextPage") Integer nextPage,
+        @JsonProperty("totalElements") Long totalElements) {
+        this.content = content;
+        this.page = page;
+        this.size = size;
+        this.nextPage = nextPage;
+        this.totalElements = totalElements;
+    }
+
+    /**
+     * The total is only known when the slice is a {@link Page}.
+     */
+    public static <T> LeanPage<T> of(Slice<T> slice) {
+        return new LeanPage<>(slice.getContent(), slice.getNumber(), slice.getSize(),
+            slice.hasNext() ? slice.getNumber() + 1 : null,
+            slice instanceof Page ? ((Page<T>) slice).getTotalElements() : null);
+    }
+
+    /**
+     * Only an explicit listing of the lean type selects it; wildcards keep the regular page.
+     */
+    public static boolean isAcceptedBy(List<MediaType> accept) {
+        return accept != null && accept.stream().anyMatch(MEDIA_TYPE::equalsTypeAndSubtype);
+    }
+
+    public boolean hasNext() {
+        return nextPage != null;
+    }
+
+    /**
+     * Writes the fields directly instead of going through bean introspection, and looks the
+     * element serializer up once per run of elements of the same class rather than per element.
+     */
+    static final class Serializer extends StdSerializer<LeanPage<?>> {
+
+        private static final long serialVersionUID = 1L;
+
+        Serializer() {
+            super(LeanPage.class, false);
+        }
+
+        @Override
+        public void serialize(LeanPage<?> page, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+
+            generator.writeStartObject(page);
+            generator.writeFieldName("content");
+            generator.writeStartArray(page.content, page.content.size());
+
+            Class<?> elementClass = null;
+            JsonSerializer<Object> elementSerializer = null;
+            for (Object element : page.content) {
+                if (element == null) {
+                    generator.writeNull();
+                    continue;
+                }
+                if (element.getClass() != elementClass) {
+                    elementClass = element.getClass();
+                    elementSerializer = provider.findValueSerializer(elementClass);
+                }
+                elementSerializer.serialize(element, generator, provider);
+            }
+
+            generator.writeEndArray();
+            generator.writeNumberField("page", page.page);
+            generator.writeNumberField("size", page.size);
+            if (page.nextPage != null) {
+                generator.writeNumberField("nextPage", page.nextPage);
+            }
+            if (page.totalElements != null) {
+                generator.writeNumberField("totalElements", page.totalElements);
+            }
+            generator.writeEndObject();
+        }
+    }
+}
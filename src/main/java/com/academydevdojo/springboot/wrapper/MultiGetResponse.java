@@ -0,0 +1,15 @@
+package com.academydevdojo.springboot.wrapper;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MultiGetResponse<T> {
+
+    private List<T> content;
+    private List<Integer> missingIds;
+}
@@ -0,0 +1,17 @@
+package com.academydevdojo.springboot.wrapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class TokenResponse {
+
+    private String accessToken;
+    private String tokenType;
+    private long expiresIn;
+}
@@ -4,10 +4,26 @@ import static com.academydevdojo.springboot.util.AnimeBuilder.createAnimeToBeSav
 import static com.academydevdojo.springboot.util.AnimeBuilder.createValidAnime;
 import static com.academydevdojo.springboot.util.AnimeBuilder.createValidUpdateAnime;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.requests.AnimeBulkDeleteRequestBody;
+import com.academydevdojo.springboot.requests.AnimePatchRequestBody;
+import com.academydevdojo.springboot.service.AnimeBulkDeleteService;
+import com.academydevdojo.springboot.service.AnimeChangeFeedService;
+import com.academydevdojo.springboot.service.AnimeEventBroadcaster;
+import com.academydevdojo.springboot.service.AnimeExportService;
+import com.academydevdojo.springboot.service.AnimeImportService;
+import com.academydevdojo.springboot.service.AnimeSearchIndex;
 import com.academydevdojo.springboot.service.AnimeService;
+import com.academydevdojo.springboot.service.AnimeSuggestionIndex;
+import com.academydevdojo.springboot.wrapper.AnimeSummary;
+import com.academydevdojo.springboot.wrapper.DeleteReport;
+import com.academydevdojo.springboot.wrapper.LeanPage;
+import com.academydevdojo.springboot.wrapper.MultiGetResponse;
+import java.io.ByteArrayOutputStream;
+import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import org.assertj.core.api.Assertions;
@@ -20,9 +36,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @ExtendWith(SpringExtension.class)
 class AnimeControllerTest {
@@ -33,6 +54,27 @@ class AnimeControllerTest {
     @Mock
     private AnimeService service;
 
+    @Mock
+    private AnimeExportService exportService;
+
+    @Mock
+    private AnimeChangeFeedService changeFeedService;
+
+    @Mock
+    private AnimeEventBroadcaster eventBroadcaster;
+
+    @Mock
+    private AnimeImportService importService;
+
+    @Mock
+    private AnimeBulkDeleteService bulkDeleteService;
+
+    @Mock
+    private AnimeSuggestionIndex suggestionIndex;
+
+    @Mock
+    private AnimeSearchIndex searchIndex;
+
     @BeforeEach
     void setUp() {
 
@@ -59,12 +101,75 @@ class AnimeControllerTest {
     void list_return_list_of_animes_inside_page_object_when_successful() {
 
         String expectedName = createValidAnime().getName();
-        Page<Anime> animePage = controller.list(null).getBody();
+        Page<?> animePage = (Page<?>) controller.list(null, true, List.of(MediaType.ALL)).getBody();
 
         Assertions.assertThat(animePage).isNotNull();
         Assertions.assertThat(animePage.toList()).isNotEmpty().hasSize(1);
-        Assertions.assertThat(animePage.toList().get(0).getName()).isEqualTo(expectedName);
+        Assertions.assertThat(((Anime) animePage.toList().get(0)).getName()).isEqualTo(expectedName);
+
+    }
+
+    @Test
+    @DisplayName("Should Return A Lean Page Without Counting When The Lean Type Is Accepted")
+    void list_return_lean_page_without_total_when_count_is_disabled() {
+
+        when(service.listSlice(ArgumentMatchers.any()))
+            .thenReturn(new SliceImpl<>(List.of(createValidAnime()), PageRequest.of(0, 1), true));
+
+        ResponseEntity<?> entity = controller.list(PageRequest.of(0, 1), false, List.of(LeanPage.MEDIA_TYPE));
 
+        Assertions.assertThat(entity.getHeaders().getContentType()).isEqualTo(LeanPage.MEDIA_TYPE);
+        Assertions.assertThat(entity.getBody()).isInstanceOfSatisfying(LeanPage.class, page -> {
+            Assertions.assertThat(page.getContent()).containsExactly(createValidAnime());
+            Assertions.assertThat(page.getNextPage()).isEqualTo(1);
+            Assertions.assertThat(page.getTotalElements()).isNull();
+        });
+    }
+
+    @Test
+    @DisplayName("Should Stream Animes As Newline-Delimited JSON")
+    void export_stream_animes_as_ndjson() throws Exception {
+
+        ResponseEntity<StreamingResponseBody> responseEntity = controller.export();
+
+        Assertions.assertThat(responseEntity.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        Assertions.assertThat(responseEntity.getBody()).isNotNull();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        responseEntity.getBody().writeTo(outputStream);
+
+        verify(exportService).exportAll(outputStream);
+    }
+
+    @Test
+    @DisplayName("Should Stream Changes Since The Watermark And Send The Next One")
+    void changes_stream_changes_and_send_next_watermark() throws Exception {
+
+        Instant since = Instant.parse("2021-05-01T10:00:00Z");
+        Instant next = Instant.parse("2021-05-01T10:05:00Z");
+        when(changeFeedService.watermark(since)).thenReturn(next);
+
+        ResponseEntity<StreamingResponseBody> responseEntity = controller.changes(since);
+
+        Assertions.assertThat(responseEntity.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        Assertions.assertThat(responseEntity.getHeaders().getFirst(AnimeChangeFeedService.WATERMARK_HEADER))
+            .isEqualTo(next.toString());
+        Assertions.assertThat(responseEntity.getBody()).isNotNull();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        responseEntity.getBody().writeTo(outputStream);
+
+        verify(changeFeedService).writeChanges(since, outputStream);
+    }
+
+    @Test
+    @DisplayName("Should Subscribe To The Event Stream From The Last Event Id")
+    void events_subscribe_from_last_event_id() {
+
+        SseEmitter emitter = new SseEmitter();
+        when(eventBroadcaster.subscribe("kq3-7")).thenReturn(emitter);
+
+        Assertions.assertThat(controller.events("kq3-7")).isSameAs(emitter);
     }
 
     @Test
@@ -78,6 +183,53 @@ class AnimeControllerTest {
         Assertions.assertThat(anime.getId()).isNotNull().isEqualTo(expectedId);
     }
 
+    @Test
+    @DisplayName("Should Tag Anime By Id With Its Version")
+    void findById_return_version_as_etag() {
+
+        ResponseEntity<Anime> responseEntity = controller.findById(1);
+
+        Assertions.assertThat(responseEntity.getHeaders().getETag()).isEqualTo("\"0\"");
+    }
+
+    @Test
+    @DisplayName("Should Return Animes By Ids With Missing Ids Reported")
+    void findAllById_return_animes_and_missing_ids() {
+
+        when(service.findAllById(List.of(1, 2)))
+            .thenReturn(new MultiGetResponse<>(List.of(createValidAnime()), List.of(2)));
+
+        MultiGetResponse<Anime> response = controller.findAllById(List.of(1, 2)).getBody();
+
+        Assertions.assertThat(response).isNotNull();
+        Assertions.assertThat(response.getContent()).containsExactly(createValidAnime());
+        Assertions.assertThat(response.getMissingIds()).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Should Return Animes Suggested For A Prefix")
+    void suggest_return_animes_for_prefix() {
+
+        AnimeSummary summary = new AnimeSummary(1, "Naruto");
+        when(suggestionIndex.suggest("nar", 10)).thenReturn(List.of(summary));
+
+        List<AnimeSummary> animes = controller.suggest("nar", 10).getBody();
+
+        Assertions.assertThat(animes).containsExactly(summary);
+    }
+
+    @Test
+    @DisplayName("Should Return Animes Matching A Fuzzy Query")
+    void search_return_animes_for_query() {
+
+        AnimeSummary summary = new AnimeSummary(1, "Naruto");
+        when(searchIndex.search("naurto", 10)).thenReturn(List.of(summary));
+
+        List<AnimeSummary> animes = controller.search("naurto", 10).getBody();
+
+        Assertions.assertThat(animes).containsExactly(summary);
+    }
+
     @Test
     @DisplayName("Should Return Anime By Name")
     void findByName_return_anime_by_name() {
@@ -134,6 +286,19 @@ class AnimeControllerTest {
         Assertions.assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
     }
 
+    @Test
+    @DisplayName("Should Return The Delete Report Of A Bulk Delete")
+    void bulkDelete_return_delete_report_when_successful() {
+
+        AnimeBulkDeleteRequestBody request = AnimeBulkDeleteRequestBody.builder().ids(List.of(1, 2)).build();
+        when(bulkDeleteService.delete(request)).thenReturn(new DeleteReport(2, 1));
+
+        ResponseEntity<DeleteReport> entity = controller.bulkDelete(request);
+
+        Assertions.assertThat(entity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(entity.getBody()).isEqualTo(new DeleteReport(2, 1));
+    }
+
     /**
      * Esse teste do método replace no Controller é passível executa-lo de duas formas:
      * 1 - Utilizar o AssertThatCode e validar com o doesNotThrowAnyException()
@@ -145,10 +310,23 @@ class AnimeControllerTest {
     @DisplayName("Should Update Anime When Successful")
     void update_anime_when_successful() {
 
-        ResponseEntity<Void> responseEntity = controller.update(createValidAnime());
+        ResponseEntity<Void> responseEntity = controller.update(createValidAnime(), null);
 
         Assertions.assertThat(responseEntity).isNotNull();
         Assertions.assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
         Assertions.assertThat(responseEntity.getBody()).isNull();
     }
+
+    @Test
+    @DisplayName("Should Patch Anime When Successful")
+    void patch_anime_when_successful() {
+
+        AnimePatchRequestBody patch = new AnimePatchRequestBody("Naruto");
+
+        ResponseEntity<Void> responseEntity = controller.patch(1, patch, "\"4\"");
+
+        Assertions.assertThat(responseEntity).isNotNull();
+        Assertions.assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        verify(service).patch(1, patch, 4);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,190 @@
+package com.academydevdojo.springboot.event;
+
+import com.academydevdojo.springboot.config.CachingConfig;
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.domain.AnimeOutboxEntry;
+import com.academydevdojo.springboot.event.AnimeChangedEvent.Type;
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.academydevdojo.springboot.repository.AnimeTombstoneRepository;
+import com.academydevdojo.springboot.service.AnimeService;
+import com.academydevdojo.springboot.service.LookupCoalescer;
+import com.academydevdojo.springboot.service.MissingAnimeIds;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({AnimeOutbox.class, AnimeOutboxTest.OutboxConfig.class})
+class AnimeOutboxTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AnimeRepository animeRepository;
+
+    @Autowired
+    private AnimeTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private ObjectProvider<CacheManager> contextCacheManager;
+
+    @Autowired
+    private ApplicationEventPublisher contextEventPublisher;
+
+    private final List<AnimeChangedEvent> events = new ArrayList<>();
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CachingConfig.ANIMES,
+        CachingConfig.MISSING_ANIMES);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AnimeOutbox outbox;
+
+    private AnimeOutbox otherNodeOutbox;
+
+    @BeforeEach
+    void setUp() {
+
+        jdbcTemplate.update("delete from " + AnimeOutboxEntry.TABLE);
+        outbox = outbox("node-a");
+        otherNodeOutbox = outbox("node-b");
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        outbox.destroy();
+        otherNodeOutbox.destroy();
+    }
+
+    @Test
+    @DisplayName("Should Write The Changes Of A Transaction Only When It Commits")
+    void onAnimeChanged_insert_changes_on_commit_only() {
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.onAnimeChanged(new AnimeChangedEvent(Type.UPDATED, 1, "Naruto"));
+            outbox.onAnimeChanged(new AnimeChangedEvent(Type.DELETED, 2, null));
+            Assertions.assertThat(rowCount()).isZero();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            outbox.onAnimeChanged(new AnimeChangedEvent(Type.DELETED, 3, null));
+            status.setRollbackOnly();
+        });
+
+        Assertions.assertThat(rowCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should Write A Create Made Through The Service, Whose Insert Waits For A Flush")
+    void save_write_created_anime_to_outbox() {
+
+        AnimeService animeService = new AnimeService(animeRepository, tombstoneRepository,
+            new LookupCoalescer(meterRegistry), new MissingAnimeIds(contextCacheManager), contextEventPublisher);
+
+        Anime saved = new TransactionTemplate(transactionManager)
+            .execute(status -> animeService.save(Anime.builder().name("Naruto").build()));
+
+        Assertions.assertThat(jdbcTemplate.queryForObject("select count(*) from " + AnimeOutboxEntry.TABLE
+            + " where anime_id = ? and type = 'CREATED'", Integer.class, saved.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should Apply Only The Changes Committed By Other Instances")
+    void poll_apply_changes_of_other_instances() {
+
+        otherNodeOutbox.onAnimeChanged(new AnimeChangedEvent(Type.UPDATED, 1, "Naruto"));
+        outbox.onAnimeChanged(new AnimeChangedEvent(Type.UPDATED, 2, "Bleach"));
+        outbox.onAnimeChanged(new AnimeChangedEvent(Type.UPDATED, 3, "Remote", true));
+        cacheManager.getCache(CachingConfig.ANIMES).put(1, "stale");
+        cacheManager.getCache(CachingConfig.ANIMES).put(2, "fresh");
+
+        outbox.poll();
+        outbox.poll();
+
+        Assertions.assertThat(rowCount()).isEqualTo(2);
+        Assertions.assertThat(events).containsExactly(new AnimeChangedEvent(Type.UPDATED, 1, "Naruto", true));
+        Assertions.assertThat(cacheManager.getCache(CachingConfig.ANIMES).get(1)).isNull();
+        Assertions.assertThat(cacheManager.getCache(CachingConfig.ANIMES).get(2)).isNotNull();
+        Assertions.assertThat(meterRegistry.get("anime.outbox.lag").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should Apply A Change Committed Late Below Changes Already Applied")
+    void poll_wait_for_gap_below_applied_changes() {
+
+        otherNodeOutbox.onAnimeChanged(new AnimeChangedEvent(Type.UPDATED, 1, "Naruto"));
+        otherNodeOutbox.onAnimeChanged(new AnimeChangedEvent(Type.UPDATED, 2, "Bleach"));
+        otherNodeOutbox.onAnimeChanged(new AnimeChangedEvent(Type.UPDATED, 3, "Monster"));
+        long inFlightId = jdbcTemplate.queryForObject("select id from " + AnimeOutboxEntry.TABLE
+            + " where anime_id = 2", Long.class);
+        jdbcTemplate.update("delete from " + AnimeOutboxEntry.TABLE + " where id = ?", inFlightId);
+
+        outbox.poll();
+        jdbcTemplate.update("insert into " + AnimeOutboxEntry.TABLE
+                + " (id, anime_id, type, name, node, created_at) values (?, 2, 'UPDATED', 'Bleach', 'node-b', ?)",
+            inFlightId, Timestamp.from(Instant.now()));
+        outbox.poll();
+
+        Assertions.assertThat(events).extracting(AnimeChangedEvent::getId).containsExactly(1, 3, 2);
+    }
+
+    private AnimeOutbox outbox(String node) {
+        return new AnimeOutbox(jdbcTemplate, entityManager, event -> events.add((AnimeChangedEvent) event),
+            cacheManager, meterRegistry, node, 100, Duration.ofHours(1), Duration.ofHours(1), Duration.ofHours(1));
+    }
+
+    private Integer rowCount() {
+        return jdbcTemplate.queryForObject("select count(*) from " + AnimeOutboxEntry.TABLE, Integer.class);
+    }
+
+    /**
+     * What the outbox bean needs beyond the JPA slice, so the entity callbacks reach it as in the application.
+     */
+    @TestConfiguration
+    static class OutboxConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager(CachingConfig.ANIMES, CachingConfig.MISSING_ANIMES);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
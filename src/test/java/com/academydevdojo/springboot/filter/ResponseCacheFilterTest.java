@@ -0,0 +1,175 @@
+package com.academydevdojo.springboot.filter;
+
+import com.academydevdojo.springboot.event.AnimeChangedEvent;
+import com.academydevdojo.springboot.event.AnimeChangedEvent.Type;
+import com.academydevdojo.springboot.wrapper.LeanPage;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.unit.DataSize;
+
+class ResponseCacheFilterTest {
+
+    private static final String BODY = IntStream.rangeClosed(1, 20)
+        .mapToObj(id -> "{\"id\":" + id + ",\"name\":\"Anime " + id + "\"}")
+        .collect(Collectors.joining(",", "[", "]"));
+    private static final String ETAG = "\"1a2b\"";
+
+    private final AtomicInteger controllerCalls = new AtomicInteger();
+
+    private ResponseCacheFilter filter;
+
+    @BeforeEach
+    void setUp() {
+
+        filter = new ResponseCacheFilter("maximumSize=100", DataSize.ofKilobytes(256), new SimpleMeterRegistry());
+        SecurityContextHolder.getContext()
+            .setAuthentication(new TestingAuthenticationToken("Jhon Doe", null, "ROLE_USER"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should Serve A Repeated List Request From The Cache, Gzipped When Accepted")
+    void doFilter_serve_repeated_request_from_cache() throws Exception {
+
+        MockHttpServletResponse miss = get("/v1/animes", "page=0&sort=name", null);
+        MockHttpServletResponse hit = get("/v1/animes", "sort=name&page=0", "gzip, deflate");
+
+        Assertions.assertThat(controllerCalls).hasValue(1);
+        Assertions.assertThat(miss.getContentAsString()).isEqualTo(BODY);
+        Assertions.assertThat(hit.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        Assertions.assertThat(hit.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        Assertions.assertThat(gunzip(hit.getContentAsByteArray())).isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("Should Answer A Matching If-None-Match From The Cache With Not Modified")
+    void doFilter_return_not_modified_when_cached_etag_matches() throws Exception {
+
+        MockHttpServletResponse miss = get("/v1/animes", "page=0", null);
+        MockHttpServletRequest conditional = request("/v1/animes", "page=0");
+        conditional.addHeader(HttpHeaders.IF_NONE_MATCH, ETAG);
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        filter.doFilter(conditional, notModified, controller(HttpStatus.OK));
+        MockHttpServletResponse gzipped = get("/v1/animes", "page=0", "gzip");
+
+        Assertions.assertThat(controllerCalls).hasValue(1);
+        Assertions.assertThat(miss.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+        Assertions.assertThat(notModified.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+        Assertions.assertThat(notModified.getContentAsByteArray()).isEmpty();
+        Assertions.assertThat(gzipped.getHeader(HttpHeaders.ETAG)).isEqualTo("\"1a2b-gzip\"");
+    }
+
+    @Test
+    @DisplayName("Should Drop Every Entry When An Anime Changes")
+    void doFilter_reload_after_anime_changed() throws Exception {
+
+        get("/v1/animes", "page=0", null);
+        filter.onAnimeChanged(new AnimeChangedEvent(Type.CREATED, 1, "Berserk"));
+        get("/v1/animes", "page=0", null);
+
+        Assertions.assertThat(controllerCalls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should Cache Each Representation And Query Separately")
+    void doFilter_key_by_representation_and_query() throws Exception {
+
+        get("/v1/animes", "page=0", null);
+        MockHttpServletRequest lean = request("/v1/animes", "page=0");
+        lean.addHeader(HttpHeaders.ACCEPT, LeanPage.MEDIA_TYPE_VALUE);
+        filter.doFilter(lean, new MockHttpServletResponse(), controller(HttpStatus.OK));
+        get("/v1/animes", "page=1", null);
+
+        Assertions.assertThat(controllerCalls).hasValue(3);
+    }
+
+    @Test
+    @DisplayName("Should Not Cache Error Responses Or Other Paths")
+    void doFilter_skip_errors_and_other_paths() throws Exception {
+
+        for (int i = 0; i < 2; i++) {
+            filter.doFilter(request("/v1/animes/find-by/name", "name="), new MockHttpServletResponse(),
+                controller(HttpStatus.BAD_REQUEST));
+            get("/v1/animes/1", "", null);
+        }
+
+        Assertions.assertThat(controllerCalls).hasValue(4);
+    }
+
+    @Test
+    @DisplayName("Should Accept Gzip Unless Its Quality Is Zero")
+    void acceptsGzip_honour_quality_values() {
+
+        Assertions.assertThat(ResponseCacheFilter.acceptsGzip("gzip;q=0.5")).isTrue();
+        Assertions.assertThat(ResponseCacheFilter.acceptsGzip("*")).isTrue();
+        Assertions.assertThat(ResponseCacheFilter.acceptsGzip("gzip;q=0, br")).isFalse();
+        Assertions.assertThat(ResponseCacheFilter.acceptsGzip("identity")).isFalse();
+        Assertions.assertThat(ResponseCacheFilter.acceptsGzip(null)).isFalse();
+    }
+
+    private MockHttpServletResponse get(String path, String query, String acceptEncoding)
+        throws ServletException, IOException {
+
+        MockHttpServletRequest request = request(path, query);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller(HttpStatus.OK));
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String path, String query) {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setQueryString(query);
+        for (String parameter : query.split("&")) {
+            if (!parameter.isEmpty()) {
+                String[] nameAndValue = parameter.split("=", 2);
+                request.addParameter(nameAndValue[0], nameAndValue[1]);
+            }
+        }
+        return request;
+    }
+
+    private FilterChain controller(HttpStatus status) {
+        return (request, response) -> {
+            controllerCalls.incrementAndGet();
+            ((HttpServletResponse) response).setStatus(status.value());
+            ((HttpServletResponse) response).setHeader(HttpHeaders.ETAG, ETAG);
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private static String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -7,7 +7,22 @@ import com.academydevdojo.springboot.domain.Anime;
 import com.academydevdojo.springboot.domain.DevUser;
 import com.academydevdojo.springboot.repository.AnimeRepository;
 import com.academydevdojo.springboot.repository.DevUserRepository;
+import com.academydevdojo.springboot.requests.AnimeBulkDeleteRequestBody;
+import com.academydevdojo.springboot.requests.AnimePatchRequestBody;
+import com.academydevdojo.springboot.requests.LoginRequestBody;
+import com.academydevdojo.springboot.service.AnimeChangeFeedService;
+import com.academydevdojo.springboot.service.AnimeService;
+import com.academydevdojo.springboot.util.SqlStatementCounter;
+import com.academydevdojo.springboot.wrapper.AnimeSummary;
+import com.academydevdojo.springboot.wrapper.DeleteReport;
+import com.academydevdojo.springboot.wrapper.ImportReport;
+import com.academydevdojo.springboot.wrapper.LeanPage;
+import com.academydevdojo.springboot.wrapper.MultiGetResponse;
 import com.academydevdojo.springboot.wrapper.PageableResponse;
+import com.academydevdojo.springboot.wrapper.TokenResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -20,6 +35,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Lazy;
@@ -30,6 +46,7 @@ import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.annotation.DirtiesContext.ClassMode;
 
@@ -52,6 +69,18 @@ class AnimeControllerIT {
     @Autowired
     private DevUserRepository userRepository;
 
+    @Autowired
+    private AnimeService animeService;
+
+    @Autowired
+    private SqlStatementCounter sqlStatements;
+
+    @LocalServerPort
+    private int port;
+
+    // the admin is loaded from the table on its first request, the user client is an in-memory account
+    private static final int ADMIN_LOOKUP = 1;
+
     private static final  DevUser USER = DevUser.builder()
         .name("Jhon Doe")
         .password("{bcrypt}$2a$10$yWD5Y1.zr8TAmcGzqcTlBOjVQTRow1LNsSfy8Evoh63CAfF2z28Vm")
@@ -89,6 +118,11 @@ class AnimeControllerIT {
 
             return new TestRestTemplate(restTemplateBuilder);
         }
+
+        @Bean
+        public SqlStatementCounter sqlStatementCounter(MeterRegistry meterRegistry) {
+            return new SqlStatementCounter(meterRegistry);
+        }
     }
 
     @Test
@@ -101,8 +135,9 @@ class AnimeControllerIT {
 
         String expectedResponse = savedAnime.getName();
 
-        PageableResponse<Anime> animePageableResponse =  testRestTemplateRoleUser.exchange("/v1/animes", HttpMethod.GET, null,
-            new ParameterizedTypeReference<PageableResponse<Anime>>() {}).getBody();
+        PageableResponse<Anime> animePageableResponse = sqlStatements.expect(1, () ->
+            testRestTemplateRoleUser.exchange("/v1/animes", HttpMethod.GET, null,
+                new ParameterizedTypeReference<PageableResponse<Anime>>() {}).getBody());
 
         Assertions.assertThat(animePageableResponse).isNotNull();
         Assertions.assertThat(animePageableResponse.toList()).isNotEmpty().hasSize(1);
@@ -110,6 +145,121 @@ class AnimeControllerIT {
 
     }
 
+    @Test
+    @DisplayName("Should Serve A Repeated List Page From The Response Cache Until An Anime Changes")
+    void list_serve_repeated_page_from_response_cache_until_anime_changes() {
+
+        userRepository.save(USER);
+
+        repository.save(createAnimeToBeSaved());
+        ParameterizedTypeReference<PageableResponse<Anime>> pageType =
+            new ParameterizedTypeReference<PageableResponse<Anime>>() {};
+
+        sqlStatements.expect(1, () -> testRestTemplateRoleUser.exchange("/v1/animes?sort=name", HttpMethod.GET,
+            null, pageType));
+        ResponseEntity<PageableResponse<Anime>> cached = sqlStatements.expect(0, () ->
+            testRestTemplateRoleUser.exchange("/v1/animes?sort=name", HttpMethod.GET, null, pageType));
+
+        testRestTemplateRoleUser.postForObject("/v1/animes/create", createAnimeToBeSaved(), Anime.class);
+        PageableResponse<Anime> reloaded = sqlStatements.expect(1, () ->
+            testRestTemplateRoleUser.exchange("/v1/animes?sort=name", HttpMethod.GET, null, pageType).getBody());
+
+        Assertions.assertThat(cached.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(cached.getBody()).isNotNull();
+        Assertions.assertThat(cached.getBody().getTotalElements()).isEqualTo(1);
+        Assertions.assertThat(reloaded).isNotNull();
+        Assertions.assertThat(reloaded.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should Return A Lean Page, Counting Only When Asked, When The Lean Type Is Accepted")
+    void list_return_lean_page_when_lean_type_is_accepted() {
+
+        userRepository.save(USER);
+
+        repository.saveAll(List.of(Anime.builder().name("Berserk").build(), Anime.builder().name("Claymore").build(),
+            Anime.builder().name("Monster").build()));
+
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setAccept(List.of(LeanPage.MEDIA_TYPE));
+
+        // one row past the page tells whether another page follows
+        ResponseEntity<LeanPage<Anime>> uncounted = sqlStatements.expect(1, () ->
+            testRestTemplateRoleUser.exchange("/v1/animes?size=2&count=false", HttpMethod.GET,
+                new HttpEntity<>(httpHeaders), new ParameterizedTypeReference<LeanPage<Anime>>() {}));
+        LeanPage<Anime> counted = sqlStatements.expect(2, () ->
+            testRestTemplateRoleUser.exchange("/v1/animes?size=2", HttpMethod.GET,
+                new HttpEntity<>(httpHeaders), new ParameterizedTypeReference<LeanPage<Anime>>() {}).getBody());
+
+        Assertions.assertThat(uncounted.getHeaders().getContentType()).isEqualTo(LeanPage.MEDIA_TYPE);
+        Assertions.assertThat(uncounted.getBody()).isNotNull();
+        Assertions.assertThat(uncounted.getBody().getContent()).hasSize(2);
+        Assertions.assertThat(uncounted.getBody().getNextPage()).isEqualTo(1);
+        Assertions.assertThat(uncounted.getBody().getTotalElements()).isNull();
+        Assertions.assertThat(counted).isNotNull();
+        Assertions.assertThat(counted.getContent()).hasSize(2);
+        Assertions.assertThat(counted.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should Export Every Anime As One JSON Line")
+    void export_return_every_anime_as_one_json_line() {
+
+        userRepository.save(USER);
+
+        repository.saveAll(List.of(createAnimeToBeSaved(), createAnimeToBeSaved(), createAnimeToBeSaved()));
+
+        ResponseEntity<String> export = sqlStatements.expect(1, () ->
+            testRestTemplateRoleUser.getForEntity("/v1/animes/export", String.class));
+
+        Assertions.assertThat(export.getStatusCode()).isEqualTo(HttpStatus.OK);
+        Assertions.assertThat(export.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        Assertions.assertThat(export.getBody()).isNotNull();
+        Assertions.assertThat(export.getBody().split("\n")).hasSize(3)
+            .allSatisfy(line -> Assertions.assertThat(line).startsWith("{").endsWith("}"));
+    }
+
+    @Test
+    @DisplayName("Should Sync Only The Changes Since The Watermark, Deletions Included")
+    void changes_return_writes_and_deletions_since_watermark() {
+
+        userRepository.save(USER);
+
+        repository.save(Anime.builder().name("Berserk").build());
+        Anime claymore = repository.save(Anime.builder().name("Claymore").build());
+
+        ResponseEntity<String> fullSync = sqlStatements.expect(1, () ->
+            testRestTemplateRoleUser.getForEntity("/v1/animes/changes", String.class));
+
+        animeService.delete(claymore.getId());
+
+        // one range scan of the animes written since, one of the tombstones
+        ResponseEntity<String> delta = sqlStatements.expect(2, () ->
+            testRestTemplateRoleUser.getForEntity("/v1/animes/changes?since={since}", String.class,
+                claymore.getLastModified().toString()));
+
+        Assertions.assertThat(fullSync.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        Assertions.assertThat(fullSync.getHeaders().getFirst(AnimeChangeFeedService.WATERMARK_HEADER)).isNotNull();
+        Assertions.assertThat(fullSync.getBody()).isNotNull();
+        Assertions.assertThat(fullSync.getBody().split("\n")).hasSize(2)
+            .allSatisfy(line -> Assertions.assertThat(line).startsWith("{\"type\":\"CREATED\""));
+        Assertions.assertThat(delta.getBody()).isNotNull();
+        Assertions.assertThat(delta.getBody().split("\n")).hasSize(1);
+        Assertions.assertThat(delta.getBody()).startsWith("{\"type\":\"DELETED\",\"id\":" + claymore.getId() + ",\"deletedAt\":");
+    }
+
+    @Test
+    @DisplayName("Should Answer Gone To A Watermark Older Than The Tombstones Kept")
+    void changes_return_gone_past_tombstone_retention() {
+
+        userRepository.save(USER);
+
+        ResponseEntity<String> expired = testRestTemplateRoleUser.getForEntity("/v1/animes/changes?since={since}",
+            String.class, Instant.now().minus(Duration.ofDays(30)).toString());
+
+        Assertions.assertThat(expired.getStatusCode()).isEqualTo(HttpStatus.GONE);
+    }
+
     @Test
     @DisplayName("Should Return Anime By Id")
     void findById_return_anime_by_id() {
@@ -118,12 +268,56 @@ class AnimeControllerIT {
 
         Anime savedAnime = repository.save(createAnimeToBeSaved());
         Integer expectedId = savedAnime.getId();
-        Anime anime = testRestTemplateRoleUser.getForObject("/v1/animes/{id}", Anime.class, expectedId);
+        Anime anime = sqlStatements.expect(1, () ->
+            testRestTemplateRoleUser.getForObject("/v1/animes/{id}", Anime.class, expectedId));
 
         Assertions.assertThat(anime).isNotNull();
         Assertions.assertThat(anime.getId()).isNotNull().isEqualTo(expectedId);
     }
 
+    @Test
+    @DisplayName("Should Return 304 Without Querying When The Anime ETag Still Matches")
+    void findById_return_not_modified_when_etag_matches() {
+
+        userRepository.save(USER);
+
+        Anime savedAnime = repository.save(createAnimeToBeSaved());
+        ResponseEntity<Anime> first = sqlStatements.expect(1, () ->
+            testRestTemplateRoleUser.getForEntity("/v1/animes/{id}", Anime.class, savedAnime.getId()));
+
+        HttpHeaders ifNoneMatch = new HttpHeaders();
+        ifNoneMatch.setIfNoneMatch(first.getHeaders().getETag());
+        ResponseEntity<String> notModified = sqlStatements.expect(0, () ->
+            testRestTemplateRoleUser.exchange("/v1/animes/{id}", HttpMethod.GET, new HttpEntity<>(ifNoneMatch),
+                String.class, savedAnime.getId()));
+
+        Assertions.assertThat(first.getHeaders().getETag()).isEqualTo("\"" + savedAnime.getVersion() + "\"");
+        Assertions.assertThat(first.getHeaders().getLastModified()).isPositive();
+        Assertions.assertThat(notModified.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        Assertions.assertThat(notModified.getBody()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should Return Animes By Ids In Request Order With Missing Ids")
+    void findAllById_return_animes_in_request_order() {
+
+        userRepository.save(USER);
+
+        Anime first = repository.save(createAnimeToBeSaved());
+        Anime second = repository.save(Anime.builder().name("Berserk").build());
+        int missingId = second.getId() + 100;
+
+        MultiGetResponse<Anime> response = sqlStatements.expect(1, () ->
+            testRestTemplateRoleUser.exchange("/v1/animes?ids={ids}", HttpMethod.GET, null,
+                new ParameterizedTypeReference<MultiGetResponse<Anime>>() {},
+                second.getId() + "," + missingId + "," + first.getId()).getBody());
+
+        Assertions.assertThat(response).isNotNull();
+        Assertions.assertThat(response.getContent()).extracting(Anime::getId)
+            .containsExactly(second.getId(), first.getId());
+        Assertions.assertThat(response.getMissingIds()).containsExactly(missingId);
+    }
+
     @Test
     @DisplayName("Should Return Anime By Name")
     void findByName_return_anime_by_name() {
@@ -132,9 +326,10 @@ class AnimeControllerIT {
 
         Anime savedAnime = repository.save(createAnimeToBeSaved());
         String expectedResponse = savedAnime.getName();
-        String url = String.format("/v1/animes/find-by?name=%s", expectedResponse);
-        List<Anime> animes = testRestTemplateRoleUser.exchange(url, HttpMethod.GET, null,
-            new ParameterizedTypeReference<List<Anime>>() {}).getBody();
+        String url = String.format("/v1/animes/find-by/name?name=%s", expectedResponse);
+        List<Anime> animes = sqlStatements.expect(1, () ->
+            testRestTemplateRoleUser.exchange(url, HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<Anime>>() {}).getBody());
 
         Assertions.assertThat(animes).isNotNull().isNotEmpty().hasSize(1);
         Assertions.assertThat(animes.get(0).getName()).isEqualTo(expectedResponse);
@@ -146,12 +341,53 @@ class AnimeControllerIT {
 
         userRepository.save(USER);
 
-        List<Anime> animes = testRestTemplateRoleUser.exchange("/v1/animes/find-by?name=Jhon-Week", HttpMethod.GET, null,
-            new ParameterizedTypeReference<List<Anime>>() {}).getBody();
+        List<Anime> animes = sqlStatements.expect(1, () ->
+            testRestTemplateRoleUser.exchange("/v1/animes/find-by/name?name=Jhon-Week", HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<Anime>>() {}).getBody());
 
         Assertions.assertThat(animes).isNotNull().isEmpty();
     }
 
+    @Test
+    @DisplayName("Should Suggest An Anime As Soon As It Is Saved")
+    void suggest_return_anime_saved_after_startup() {
+
+        userRepository.save(USER);
+
+        Anime savedAnime = testRestTemplateRoleUser.exchange("/v1/animes/create", HttpMethod.POST,
+            createJsonHttpEntity(Anime.builder().name("Shingeki no Kyojin").build()), Anime.class).getBody();
+
+        List<AnimeSummary> animes = sqlStatements.expect(0, () ->
+            testRestTemplateRoleUser.exchange("/v1/animes/suggest?prefix={prefix}", HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<AnimeSummary>>() {}, "SHINGEKI no").getBody());
+
+        Assertions.assertThat(savedAnime).isNotNull();
+        // the index keeps ids and names only, not the versions
+        Assertions.assertThat(animes).isNotNull()
+            .extracting(AnimeSummary::getId, AnimeSummary::getName)
+            .containsExactly(Assertions.tuple(savedAnime.getId(), savedAnime.getName()));
+    }
+
+    @Test
+    @DisplayName("Should Find An Anime By Fuzzy Search As Soon As It Is Saved")
+    void search_return_anime_saved_after_startup() {
+
+        userRepository.save(USER);
+
+        Anime savedAnime = testRestTemplateRoleUser.exchange("/v1/animes/create", HttpMethod.POST,
+            createJsonHttpEntity(Anime.builder().name("Steins;Gate").build()), Anime.class).getBody();
+
+        List<AnimeSummary> animes = sqlStatements.expect(0, () ->
+            testRestTemplateRoleUser.exchange("/v1/animes/search?q={q}", HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<AnimeSummary>>() {}, "stiens gate").getBody());
+
+        Assertions.assertThat(savedAnime).isNotNull();
+        // the index keeps ids and names only, not the versions
+        Assertions.assertThat(animes).isNotNull()
+            .extracting(AnimeSummary::getId, AnimeSummary::getName)
+            .containsExactly(Assertions.tuple(savedAnime.getId(), savedAnime.getName()));
+    }
+
     @Test
     @DisplayName("Should Save Anime When Successful")
     void save_anime_when_successful() {
@@ -162,8 +398,9 @@ class AnimeControllerIT {
 
         Anime animeToBeSaved = createAnimeToBeSaved();
 
-        Anime anime = testRestTemplateRoleUser.exchange("/v1/animes/create", HttpMethod.POST,
-            createJsonHttpEntity(animeToBeSaved), Anime.class).getBody();
+        Anime anime = sqlStatements.expect(1, () ->
+            testRestTemplateRoleUser.exchange("/v1/animes/create", HttpMethod.POST,
+                createJsonHttpEntity(animeToBeSaved), Anime.class).getBody());
 
         Assertions.assertThat(anime).isNotNull();
         Assertions.assertThat(anime.getId()).isNotNull();
@@ -177,13 +414,55 @@ class AnimeControllerIT {
 
         Anime savedAnime = repository.save(createAnimeToBeSaved());
 
-        ResponseEntity<Void> anime = testRestTemplateRoleAdmin.exchange("/v1/animes/admin/{id}", HttpMethod.DELETE,
-            null , Void.class, savedAnime.getId());
+        // deleted by id without loading the row first, then the tombstone is inserted
+        ResponseEntity<Void> anime = sqlStatements.expect(ADMIN_LOOKUP + 2, () ->
+            testRestTemplateRoleAdmin.exchange("/v1/animes/admin/{id}", HttpMethod.DELETE,
+                null , Void.class, savedAnime.getId()));
 
         Assertions.assertThat(anime).isNotNull();
         Assertions.assertThat(anime.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
     }
 
+    @Test
+    @DisplayName("Should Bulk Delete Every Anime With The Given Name")
+    void bulkDelete_remove_animes_by_name_when_successful() {
+
+        userRepository.save(ADMIN);
+
+        repository.saveAll(List.of(Anime.builder().name("Berserk").build(), Anime.builder().name("Berserk").build(),
+            Anime.builder().name("Claymore").build()));
+
+        // one batch: the keyset page of ids, a single DELETE ... WHERE id IN (...) and one batch of tombstones
+        DeleteReport report = sqlStatements.expect(ADMIN_LOOKUP + 3, () ->
+            testRestTemplateRoleAdmin.postForObject("/v1/animes/admin/bulk-delete",
+                AnimeBulkDeleteRequestBody.builder().name("Berserk").build(), DeleteReport.class));
+
+        Assertions.assertThat(report).isNotNull();
+        Assertions.assertThat(report.getDeleted()).isEqualTo(2);
+        Assertions.assertThat(report.getBatches()).isEqualTo(1);
+        Assertions.assertThat(repository.findAll()).extracting(Anime::getName).containsExactly("Claymore");
+    }
+
+    @Test
+    @DisplayName("Should Import Animes From CSV And Report Invalid Rows")
+    void import_persist_csv_rows_and_report_invalid_ones() {
+
+        userRepository.save(ADMIN);
+
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setContentType(MediaType.valueOf("text/csv"));
+
+        // both valid rows go out as one JDBC batch
+        ImportReport report = sqlStatements.expect(ADMIN_LOOKUP + 1, () ->
+            testRestTemplateRoleAdmin.exchange("/v1/animes/admin/import", HttpMethod.POST,
+                new HttpEntity<>("name\nBerserk\n\"\"\nClaymore\n", httpHeaders), ImportReport.class).getBody());
+
+        Assertions.assertThat(report).isNotNull();
+        Assertions.assertThat(report.getImported()).isEqualTo(2);
+        Assertions.assertThat(report.getFailed()).isEqualTo(1);
+        Assertions.assertThat(repository.count()).isEqualTo(2);
+    }
+
     @Test
     @DisplayName("Should Return 403 when user is not ADMIN")
     void delete_return_403_when_role_is_not_admin_successful() {
@@ -209,13 +488,139 @@ class AnimeControllerIT {
 
         savedAnime.setName("Naruto");
 
-        ResponseEntity<Void> anime = testRestTemplateRoleUser.exchange("/v1/animes/", HttpMethod.PUT,
-            new HttpEntity<>(savedAnime), Void.class);
+        // the version read with the anime guards a single UPDATE, with no select to merge it
+        ResponseEntity<Void> anime = sqlStatements.expect(1, () ->
+            testRestTemplateRoleUser.exchange("/v1/animes/", HttpMethod.PUT,
+                new HttpEntity<>(savedAnime), Void.class));
 
         Assertions.assertThat(anime).isNotNull();
         Assertions.assertThat(anime.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
     }
 
+    @Test
+    @DisplayName("Should Refuse To Update An Anime Changed Since Its Version Was Read")
+    void replace_return_409_or_412_when_version_is_stale() {
+
+        userRepository.save(USER);
+
+        Anime savedAnime = repository.save(createAnimeToBeSaved());
+        Anime staleAnime = Anime.builder().id(savedAnime.getId()).name("Bleach").version(savedAnime.getVersion()).build();
+        savedAnime.setName("Naruto");
+        testRestTemplateRoleUser.exchange("/v1/animes/", HttpMethod.PUT, new HttpEntity<>(savedAnime), Void.class);
+
+        // the UPDATE matches no row, then one more query tells a stale version from a missing anime
+        ResponseEntity<String> conflict = sqlStatements.expect(2, () ->
+            testRestTemplateRoleUser.exchange("/v1/animes/", HttpMethod.PUT, new HttpEntity<>(staleAnime),
+                String.class));
+        HttpHeaders ifMatch = createJsonHeader();
+        ifMatch.setIfMatch("\"" + savedAnime.getVersion() + "\"");
+        ResponseEntity<String> preconditionFailed = testRestTemplateRoleUser.exchange("/v1/animes/{id}",
+            HttpMethod.PATCH, new HttpEntity<>(new AnimePatchRequestBody("Bleach"), ifMatch), String.class,
+            savedAnime.getId());
+
+        Assertions.assertThat(conflict.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+        Assertions.assertThat(preconditionFailed.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED);
+        Assertions.assertThat(repository.findById(savedAnime.getId())).get()
+            .extracting(Anime::getName).isEqualTo("Naruto");
+    }
+
+    @Test
+    @DisplayName("Should Patch Anime With A Single Update Statement")
+    void patch_anime_with_single_update_statement() {
+
+        userRepository.save(USER);
+
+        Anime savedAnime = repository.save(createAnimeToBeSaved());
+
+        ResponseEntity<Void> patched = sqlStatements.expect(1, () ->
+            testRestTemplateRoleUser.exchange("/v1/animes/{id}", HttpMethod.PATCH,
+                new HttpEntity<>(new AnimePatchRequestBody("Naruto"), createJsonHeader()), Void.class,
+                savedAnime.getId()));
+
+        Assertions.assertThat(patched.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        Assertions.assertThat(repository.findById(savedAnime.getId())).get()
+            .extracting(Anime::getName).isEqualTo("Naruto");
+    }
+
+    @Test
+    @DisplayName("Should Return 400 For A Missing Anime After One Update Statement")
+    void patch_return_400_when_anime_not_found() {
+
+        userRepository.save(USER);
+
+        ResponseEntity<String> patched = sqlStatements.expect(1, () ->
+            testRestTemplateRoleUser.exchange("/v1/animes/{id}", HttpMethod.PATCH,
+                new HttpEntity<>(new AnimePatchRequestBody("Naruto"), createJsonHeader()), String.class, 404));
+
+        Assertions.assertThat(patched.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("Should Authorize Requests With Bearer Token Issued By Login")
+    void login_issue_token_that_authorizes_admin_requests() {
+
+        userRepository.save(ADMIN);
+
+        Anime savedAnime = repository.save(createAnimeToBeSaved());
+
+        TokenResponse tokenResponse = anonymousRestTemplate()
+            .postForObject("/v1/auth/login", new LoginRequestBody("Diogo Costa", "academy"), TokenResponse.class);
+
+        Assertions.assertThat(tokenResponse).isNotNull();
+        Assertions.assertThat(tokenResponse.getAccessToken()).isNotBlank();
+
+        HttpHeaders httpHeaders = new HttpHeaders();
+        httpHeaders.setBearerAuth(tokenResponse.getAccessToken());
+
+        ResponseEntity<Void> anime = anonymousRestTemplate()
+            .exchange("/v1/animes/admin/{id}", HttpMethod.DELETE, new HttpEntity<>(httpHeaders), Void.class,
+                savedAnime.getId());
+
+        Assertions.assertThat(anime.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+    }
+
+    @Test
+    @DisplayName("Should Return 401 When Login Credentials Are Invalid")
+    void login_return_401_when_credentials_are_invalid() {
+
+        userRepository.save(ADMIN);
+
+        ResponseEntity<TokenResponse> tokenResponse = anonymousRestTemplate()
+            .postForEntity("/v1/auth/login", new LoginRequestBody("Diogo Costa", "wrong"), TokenResponse.class);
+
+        Assertions.assertThat(tokenResponse.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    @DisplayName("Should Expose Service, Repository And Hibernate Metrics")
+    void metrics_expose_service_repository_and_hibernate_meters() {
+
+        userRepository.save(USER);
+
+        Anime savedAnime = repository.save(createAnimeToBeSaved());
+        testRestTemplateRoleUser.getForObject("/v1/animes/{id}", Anime.class, savedAnime.getId());
+
+        Assertions.assertThat(List.of(
+                "/actuator/metrics/anime.service.calls?tag=method:findById",
+                "/actuator/metrics/anime.repository.statements?tag=repository:AnimeRepository&tag=method:findDetachedById",
+                "/actuator/metrics/hibernate.statements"))
+            .allSatisfy(url -> Assertions.assertThat(anonymousRestTemplate().getForEntity(url, String.class)
+                .getStatusCode()).isEqualTo(HttpStatus.OK));
+    }
+
+    private TestRestTemplate anonymousRestTemplate() {
+
+        RestTemplateBuilder restTemplateBuilder = new RestTemplateBuilder()
+            .rootUri("http://localhost:" + port)
+            .requestFactory(() -> {
+                SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+                requestFactory.setOutputStreaming(false);
+                return requestFactory;
+            });
+
+        return new TestRestTemplate(restTemplateBuilder);
+    }
+
     private HttpEntity<Anime> createJsonHttpEntity(Anime anime) {
         return new HttpEntity<>(anime, createJsonHeader());
     }
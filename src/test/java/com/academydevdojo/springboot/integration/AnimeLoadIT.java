@@ -0,0 +1,199 @@
+package com.academydevdojo.springboot.integration;
+
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.domain.DevUser;
+import com.academydevdojo.springboot.integration.OpenModelLoadGenerator.Operation;
+import com.academydevdojo.springboot.integration.OpenModelLoadGenerator.Report;
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.academydevdojo.springboot.repository.DevUserRepository;
+import com.academydevdojo.springboot.requests.LoginRequestBody;
+import com.academydevdojo.springboot.wrapper.TokenResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.extern.log4j.Log4j2;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+
+/**
+ * Drives mixed read and write traffic against the running application at a fixed rate and fails
+ * when the latency or throughput budgets are exceeded. Rate, durations and budgets are read from
+ * system properties, e.g. {@code mvn test -Pintegration-tests -Dtest=AnimeLoadIT -Dload.rate=500
+ * -Dload.budget.p99=100ms}.
+ */
+@Log4j2
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+    // statement logging to the console would dominate the measured latencies
+    "spring.jpa.show-sql=false",
+    "logging.level.org.hibernate.SQL=warn",
+    "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=warn"})
+@AutoConfigureTestDatabase
+@DirtiesContext
+class AnimeLoadIT {
+
+    private static final int SEEDED_ANIMES = 1000;
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+    private static final List<String> PREFIXES = List.of("a", "ber", "load", "naruto", "one p", "shin");
+
+    private static final DevUser USER = DevUser.builder()
+        .name("Jhon Doe")
+        .password("{bcrypt}$2a$10$yWD5Y1.zr8TAmcGzqcTlBOjVQTRow1LNsSfy8Evoh63CAfF2z28Vm")
+        .username("Jhon Doe")
+        .authorities("ROLE_USER")
+        .build();
+
+    @Autowired
+    private AnimeRepository repository;
+
+    @Autowired
+    private DevUserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${load.rate:100}")
+    private double requestsPerSecond;
+
+    @Value("${load.warmup:5s}")
+    private Duration warmup;
+
+    @Value("${load.duration:15s}")
+    private Duration duration;
+
+    @Value("${load.budget.p50:25ms}")
+    private Duration p50Budget;
+
+    @Value("${load.budget.p99:150ms}")
+    private Duration p99Budget;
+
+    @Value("${load.budget.p999:500ms}")
+    private Duration p999Budget;
+
+    @Value("${load.budget.min-throughput-ratio:0.95}")
+    private double minThroughputRatio;
+
+    @Value("${load.budget.max-error-ratio:0}")
+    private double maxErrorRatio;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(REQUEST_TIMEOUT)
+        .build();
+
+    @Test
+    @DisplayName("Should Keep Latency And Throughput Within Budget Under Mixed Traffic")
+    void mixed_traffic_stays_within_latency_and_throughput_budgets() throws Exception {
+
+        userRepository.save(USER);
+
+        List<Integer> ids = repository.saveAll(IntStream.rangeClosed(1, SEEDED_ANIMES)
+                .mapToObj(number -> Anime.builder().name("Load anime " + number).build())
+                .collect(Collectors.toList()))
+            .stream()
+            .map(Anime::getId)
+            .collect(Collectors.toList());
+
+        String accessToken = login();
+
+        Report report = new OpenModelLoadGenerator(httpClient)
+            .run(requestsPerSecond, warmup, duration, () -> nextOperation(ids, accessToken));
+
+        log.info("Load test at {} req/s for {}:\n{}", requestsPerSecond, duration, report);
+
+        Assertions.assertThat(report.requests()).isPositive();
+        Assertions.assertThat(report.errorRatio()).as("error ratio").isLessThanOrEqualTo(maxErrorRatio);
+        Assertions.assertThat(report.percentile(50)).as("p50 latency").isLessThanOrEqualTo(p50Budget);
+        Assertions.assertThat(report.percentile(99)).as("p99 latency").isLessThanOrEqualTo(p99Budget);
+        Assertions.assertThat(report.percentile(99.9)).as("p99.9 latency").isLessThanOrEqualTo(p999Budget);
+        Assertions.assertThat(report.throughput()).as("throughput in req/s")
+            .isGreaterThanOrEqualTo(requestsPerSecond * minThroughputRatio);
+    }
+
+    /**
+     * Mostly reads by id, as the clients do, with list, typeahead and search reads and one write in
+     * five.
+     */
+    private Operation nextOperation(List<Integer> ids, String accessToken) {
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int id = ids.get(random.nextInt(ids.size()));
+        int roll = random.nextInt(100);
+
+        if (roll < 55) {
+            return new Operation("findById", get("/v1/animes/" + id, accessToken));
+        }
+        if (roll < 65) {
+            return new Operation("list", get("/v1/animes?size=20&page=" + random.nextInt(SEEDED_ANIMES / 20),
+                accessToken));
+        }
+        if (roll < 72) {
+            return new Operation("suggest", get("/v1/animes/suggest?prefix="
+                + PREFIXES.get(random.nextInt(PREFIXES.size())).replace(" ", "%20"), accessToken));
+        }
+        if (roll < 80) {
+            return new Operation("search", get("/v1/animes/search?q=lod%20anime%20" + random.nextInt(SEEDED_ANIMES),
+                accessToken));
+        }
+        if (roll < 90) {
+            return new Operation("save", json("POST", "/v1/animes/create", accessToken,
+                Anime.builder().name("Load anime " + random.nextInt()).build()));
+        }
+        return new Operation("update", json("PUT", "/v1/animes", accessToken,
+            Anime.builder().id(id).name("Load anime " + id + " " + random.nextInt(10)).build()));
+    }
+
+    private String login() throws Exception {
+        HttpRequest request = request("/v1/auth/login")
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .POST(BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(new LoginRequestBody("Jhon Doe", "academy"))))
+            .build();
+        return objectMapper.readValue(httpClient.send(request, BodyHandlers.ofByteArray()).body(), TokenResponse.class)
+            .getAccessToken();
+    }
+
+    private HttpRequest get(String path, String accessToken) {
+        return request(path)
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+            .GET()
+            .build();
+    }
+
+    private HttpRequest json(String method, String path, String accessToken, Anime anime) {
+        try {
+            return request(path)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .method(method, BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(anime)))
+                .build();
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .timeout(REQUEST_TIMEOUT);
+    }
+}
@@ -0,0 +1,161 @@
+package com.academydevdojo.springboot.integration;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Sends requests on a fixed schedule whatever the server response times are (open model). Latency
+ * is measured from the moment each request was due rather than from when it was actually sent, so
+ * a stalled server or a late generator shows up in the percentiles instead of quietly lowering the
+ * offered load.
+ */
+final class OpenModelLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final Duration DRAIN_TIMEOUT = Duration.ofMinutes(1);
+
+    private final HttpClient httpClient;
+
+    OpenModelLoadGenerator(HttpClient httpClient) {
+        this.httpClient = httpClient;
+    }
+
+    /**
+     * Requests sent during the warmup are awaited but not recorded. Returns once every request has
+     * completed; requests should carry their own timeout, a failed or timed out request counts as
+     * an error.
+     */
+    Report run(double requestsPerSecond, Duration warmup, Duration measurement, Supplier<Operation> operations)
+        throws InterruptedException, ExecutionException, TimeoutException {
+
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        long start = System.nanoTime();
+        long measureFrom = start + warmup.toNanos();
+        long end = measureFrom + measurement.toNanos();
+
+        Report report = new Report(measureFrom);
+        Set<CompletableFuture<Void>> pending = ConcurrentHashMap.newKeySet();
+
+        for (long sent = 0; start + sent * interval < end; sent++) {
+            long intendedStart = start + sent * interval;
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = operations.get();
+            boolean measured = intendedStart >= measureFrom;
+            CompletableFuture<Void> response = httpClient.sendAsync(operation.request, BodyHandlers.discarding())
+                .handle((completed, failure) -> {
+                    if (measured) {
+                        boolean successful = failure == null && completed.statusCode() < 400;
+                        report.record(operation.name, System.nanoTime() - intendedStart, successful);
+                    }
+                    return null;
+                });
+            pending.add(response);
+            response.whenComplete((ignored, failure) -> pending.remove(response));
+        }
+
+        CompletableFuture.allOf(pending.toArray(CompletableFuture[]::new))
+            .get(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        return report;
+    }
+
+    static final class Operation {
+
+        private final String name;
+        private final HttpRequest request;
+
+        Operation(String name, HttpRequest request) {
+            this.name = name;
+            this.request = request;
+        }
+    }
+
+    /**
+     * Latency histograms per operation and overall, in microseconds. Throughput counts successful
+     * responses from the start of the measurement to the last measured response, so a server that
+     * falls behind the schedule cannot hide its backlog behind a fixed window.
+     */
+    static final class Report {
+
+        private final long measureFrom;
+        private final Histogram total = newHistogram();
+        private final Map<String, Histogram> byOperation = new ConcurrentHashMap<>();
+        private final AtomicLong errors = new AtomicLong();
+        private final AtomicLong lastCompletion = new AtomicLong();
+
+        private Report(long measureFrom) {
+            this.measureFrom = measureFrom;
+        }
+
+        private void record(String operation, long latencyNanos, boolean successful) {
+            long micros = Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS);
+            total.recordValue(micros);
+            byOperation.computeIfAbsent(operation, ignored -> newHistogram()).recordValue(micros);
+            if (!successful) {
+                errors.incrementAndGet();
+            }
+            lastCompletion.accumulateAndGet(System.nanoTime(), Math::max);
+        }
+
+        long requests() {
+            return total.getTotalCount();
+        }
+
+        double errorRatio() {
+            return requests() == 0 ? 0 : (double) errors.get() / requests();
+        }
+
+        double throughput() {
+            long elapsed = lastCompletion.get() - measureFrom;
+            return elapsed <= 0 ? 0 : (requests() - errors.get()) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+        }
+
+        Duration percentile(double percentile) {
+            return Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(total.getValueAtPercentile(percentile)));
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder summary = new StringBuilder(String.format("%-10s %8s %10s %10s %10s %10s%n",
+                "operation", "requests", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+            new TreeMap<>(byOperation).forEach((operation, histogram) -> append(summary, operation, histogram));
+            append(summary, "total", total);
+            return summary.append(String.format("throughput %.1f req/s, errors %d", throughput(), errors.get()))
+                .toString();
+        }
+
+        private static void append(StringBuilder summary, String operation, Histogram histogram) {
+            summary.append(String.format("%-10s %8d %10.2f %10.2f %10.2f %10.2f%n", operation,
+                histogram.getTotalCount(), millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())));
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+
+        private static Histogram newHistogram() {
+            return new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        }
+    }
+}
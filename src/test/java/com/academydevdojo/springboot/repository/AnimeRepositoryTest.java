@@ -3,20 +3,26 @@ package com.academydevdojo.springboot.repository;
 import static com.academydevdojo.springboot.util.AnimeBuilder.createAnimeToBeSaved;
 
 import com.academydevdojo.springboot.domain.Anime;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import javax.persistence.EntityManager;
 import javax.validation.ConstraintViolationException;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
 
 @DataJpaTest
 class AnimeRepositoryTest {
     @Autowired
     private AnimeRepository animeRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     @DisplayName("Should Save Anime When Successful")
     void should_save_persist_anime_when_successful() {
@@ -83,6 +89,72 @@ class AnimeRepositoryTest {
         Assertions.assertThat(animes).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should Seek Past Last Name And Id When Listing By Name")
+    void should_seek_past_last_name_and_id_when_listing_by_name() {
+
+        Anime first = this.animeRepository.save(Anime.builder().name("Berserk").build());
+        Anime second = this.animeRepository.save(Anime.builder().name("Berserk").build());
+        Anime third = this.animeRepository.save(Anime.builder().name("Claymore").build());
+
+        List<Anime> animes = this.animeRepository.findByNameAndIdAfter(first.getName(), first.getId(),
+            PageRequest.of(0, 10));
+
+        Assertions.assertThat(animes).containsExactly(second, third);
+    }
+
+    @Test
+    @DisplayName("Should Read Animes Outside The Persistence Context And Ignore Changes To Them")
+    void should_read_detached_animes_without_dirty_checking() {
+
+        Anime saved = this.animeRepository.saveAndFlush(createAnimeToBeSaved());
+        this.entityManager.clear();
+
+        Anime anime = this.animeRepository.findDetachedById(saved.getId()).orElseThrow();
+        List<Anime> listed = this.animeRepository.findDetachedBy(PageRequest.of(0, 10)).getContent();
+
+        Assertions.assertThat(anime).isEqualTo(saved);
+        Assertions.assertThat(listed).containsExactly(saved);
+        Assertions.assertThat(this.entityManager.contains(anime)).isFalse();
+
+        anime.setName("Cavaleiros dos Zodíacos");
+        this.entityManager.flush();
+        this.entityManager.clear();
+
+        Assertions.assertThat(this.animeRepository.findById(saved.getId()))
+            .hasValueSatisfying(reloaded -> Assertions.assertThat(reloaded.getName()).isEqualTo(saved.getName()));
+    }
+
+    @Test
+    @DisplayName("Should Rename And Bump The Version Only While The Expected Version Is Current")
+    void should_rename_only_when_version_is_current() {
+
+        Anime saved = this.animeRepository.saveAndFlush(createAnimeToBeSaved());
+        Instant modified = Anime.modificationTime();
+
+        int renamed = this.animeRepository.updateName(saved.getId(), "Naruto", saved.getVersion(), modified);
+        int stale = this.animeRepository.updateName(saved.getId(), "Bleach", saved.getVersion(), modified);
+
+        Assertions.assertThat(renamed).isEqualTo(1);
+        Assertions.assertThat(stale).isZero();
+        Assertions.assertThat(this.animeRepository.findDetachedById(saved.getId())).hasValueSatisfying(anime -> {
+            Assertions.assertThat(anime.getName()).isEqualTo("Naruto");
+            Assertions.assertThat(anime.getVersion()).isEqualTo(saved.getVersion() + 1);
+            Assertions.assertThat(anime.getLastModified()).isEqualTo(modified);
+        });
+    }
+
+    @Test
+    @DisplayName("Should Assign Ids Without Waiting For The Insert")
+    void should_assign_id_before_insert_is_flushed() {
+
+        Anime first = this.animeRepository.save(createAnimeToBeSaved());
+        Anime second = this.animeRepository.save(createAnimeToBeSaved());
+
+        Assertions.assertThat(first.getId()).isNotNull();
+        Assertions.assertThat(second.getId()).isEqualTo(first.getId() + 1);
+    }
+
     @Test
     @DisplayName("Should Throws ConstraintViolationException When name is empty")
     void should_throw_constraint_violation_exception_when_name_is_empty() {
@@ -90,7 +162,7 @@ class AnimeRepositoryTest {
         Anime anime = new Anime();
 
         Assertions.assertThatExceptionOfType(ConstraintViolationException.class)
-            .isThrownBy(() -> animeRepository.save(anime))
+            .isThrownBy(() -> animeRepository.saveAndFlush(anime))
             .withMessageContaining("The name of this anime cannot be empty");
 
     }
@@ -0,0 +1,56 @@
+package com.academydevdojo.springboot.repository;
+
+import static com.academydevdojo.springboot.util.AnimeBuilder.createAnimeToBeSaved;
+
+import com.academydevdojo.springboot.domain.Anime;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Import(IdSequenceAligner.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdSequenceAlignerTest {
+
+    @Autowired
+    private IdSequenceAligner idSequenceAligner;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AnimeRepository animeRepository;
+
+    @Test
+    @DisplayName("Should Hand Out Ids After Rows Inserted Outside The Sequence")
+    void should_assign_ids_after_existing_rows_when_aligned() {
+
+        jdbcTemplate.update("insert into anime (id, name) values (?, ?)", 500, "Legacy Anime");
+
+        idSequenceAligner.afterPropertiesSet();
+
+        Anime animeSaved = animeRepository.saveAndFlush(createAnimeToBeSaved());
+
+        Assertions.assertThat(animeSaved.getId()).isGreaterThan(500);
+    }
+
+    @Test
+    @DisplayName("Should Never Move A Sequence Backwards")
+    void should_keep_sequence_when_it_is_already_ahead() {
+
+        jdbcTemplate.update("update id_sequence set next_val = ? where sequence_name = ?", 1000, "anime");
+
+        idSequenceAligner.afterPropertiesSet();
+
+        Long lastUsed = jdbcTemplate.queryForObject("select next_val from id_sequence where sequence_name = ?",
+            Long.class, "anime");
+
+        Assertions.assertThat(lastUsed).isEqualTo(1000);
+    }
+}
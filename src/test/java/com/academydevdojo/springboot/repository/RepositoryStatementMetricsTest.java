@@ -0,0 +1,66 @@
+package com.academydevdojo.springboot.repository;
+
+import static com.academydevdojo.springboot.util.AnimeBuilder.createAnimeToBeSaved;
+
+import com.academydevdojo.springboot.domain.Anime;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javax.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@Import({RepositoryStatementMetrics.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration(AopAutoConfiguration.class)
+class RepositoryStatementMetricsTest {
+
+    @Autowired
+    private AnimeRepository animeRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should Count The Statements Of Each Repository Call Under Its Method")
+    void measure_count_statements_per_repository_method() {
+
+        animeRepository.findByName("Berserk");
+        animeRepository.findByName("Claymore");
+
+        DistributionSummary statements = meterRegistry.get("anime.repository.statements")
+            .tags("repository", "AnimeRepository", "method", "findByName")
+            .summary();
+
+        Assertions.assertThat(statements.count()).isEqualTo(2);
+        Assertions.assertThat(statements.totalAmount()).isEqualTo(2);
+        Assertions.assertThat(meterRegistry.get("anime.repository.calls")
+            .tags("repository", "AnimeRepository", "method", "findByName")
+            .timer()
+            .count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should Count Statements Prepared Outside Repository Calls Only In The Total")
+    void inspect_count_statements_outside_repository_calls_in_total_only() {
+
+        Anime savedAnime = animeRepository.saveAndFlush(createAnimeToBeSaved());
+        entityManager.clear();
+        double before = meterRegistry.get("anime.sql.statements").counter().count();
+
+        entityManager.find(Anime.class, savedAnime.getId());
+
+        Assertions.assertThat(meterRegistry.get("anime.sql.statements").counter().count()).isEqualTo(before + 1);
+        Assertions.assertThat(meterRegistry.find("anime.repository.statements").tag("method", "findById").summary())
+            .isNull();
+    }
+}
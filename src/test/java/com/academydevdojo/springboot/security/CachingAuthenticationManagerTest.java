@@ -0,0 +1,85 @@
+package com.academydevdojo.springboot.security;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+class CachingAuthenticationManagerTest {
+
+    @Mock
+    private AuthenticationManager delegate;
+
+    private ConcurrentMapCache cache;
+
+    private CachingAuthenticationManager authenticationManager;
+
+    @BeforeEach
+    void setUp() {
+
+        cache = new ConcurrentMapCache("authentications");
+        authenticationManager = new CachingAuthenticationManager(delegate, cache);
+
+        when(delegate.authenticate(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            Authentication request = invocation.getArgument(0);
+            if (!"academy".equals(request.getCredentials())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
+            return new UsernamePasswordAuthenticationToken(request.getName(), null,
+                List.of(new SimpleGrantedAuthority("ROLE_USER")));
+        });
+    }
+
+    @Test
+    @DisplayName("Should Authenticate Once When Same Credentials Are Presented Again")
+    void authenticate_delegates_once_for_repeated_credentials() {
+
+        Authentication first = authenticationManager.authenticate(token("academy"));
+        Authentication second = authenticationManager.authenticate(token("academy"));
+
+        verify(delegate, times(1)).authenticate(ArgumentMatchers.any());
+        Assertions.assertThat(second.isAuthenticated()).isTrue();
+        Assertions.assertThat(second.getAuthorities()).isEqualTo(first.getAuthorities());
+    }
+
+    @Test
+    @DisplayName("Should Not Reuse Cached Authentication When Password Differs")
+    void authenticate_rejects_different_password_after_cached_success() {
+
+        authenticationManager.authenticate(token("academy"));
+
+        Assertions.assertThatExceptionOfType(BadCredentialsException.class)
+            .isThrownBy(() -> authenticationManager.authenticate(token("wrong")));
+    }
+
+    @Test
+    @DisplayName("Should Authenticate Again When Cache Is Cleared")
+    void authenticate_delegates_again_after_cache_is_cleared() {
+
+        authenticationManager.authenticate(token("academy"));
+        cache.clear();
+        authenticationManager.authenticate(token("academy"));
+
+        verify(delegate, times(2)).authenticate(ArgumentMatchers.any());
+    }
+
+    private static UsernamePasswordAuthenticationToken token(String password) {
+        return new UsernamePasswordAuthenticationToken("Diogo Costa", password);
+    }
+}
@@ -0,0 +1,85 @@
+package com.academydevdojo.springboot.security;
+
+import java.time.Duration;
+import java.util.List;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextPersistenceFilter;
+
+class TokenAuthenticationFilterTest {
+
+    private static final String SECRET = "c2VjcmV0LWtleS11c2VkLW9ubHktaW4tdGhlLXRva2VuLXRlc3Q=";
+    private static final String SESSION_CONTEXT = HttpSessionSecurityContextRepository.SPRING_SECURITY_CONTEXT_KEY;
+
+    private final TokenService tokenService = new TokenService(SECRET, Duration.ofMinutes(15));
+
+    @Test
+    @DisplayName("Should Leave The Session Login In Place When A Token Comes With The Session Cookie")
+    void doFilter_keep_session_context_when_token_comes_with_session() throws Exception {
+
+        Authentication sessionLogin = authentication("Jhon Doe");
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(SESSION_CONTEXT, new SecurityContextImpl(sessionLogin));
+
+        Authentication seen = filter(session, tokenService.issue(authentication("Diogo Costa")));
+
+        Assertions.assertThat(seen.getName()).isEqualTo("Diogo Costa");
+        Assertions.assertThat(((SecurityContext) session.getAttribute(SESSION_CONTEXT)).getAuthentication())
+            .isSameAs(sessionLogin);
+    }
+
+    @Test
+    @DisplayName("Should Not Save The Token Authentication To A Session Without A Login")
+    void doFilter_not_save_token_authentication_to_session() throws Exception {
+
+        MockHttpSession session = new MockHttpSession();
+
+        Authentication seen = filter(session, tokenService.issue(authentication("Diogo Costa")));
+
+        Assertions.assertThat(seen).isInstanceOf(BearerTokenAuthentication.class);
+        Assertions.assertThat(session.getAttribute(SESSION_CONTEXT)).isNull();
+    }
+
+    /**
+     * Runs the filter behind the one that loads the context from the session and saves it back,
+     * and returns the authentication the request was served with.
+     */
+    private Authentication filter(MockHttpSession session, String token) throws Exception {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/animes");
+        request.setSession(session);
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+
+        Authentication[] seen = new Authentication[1];
+        HttpServlet servlet = new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) {
+                seen[0] = SecurityContextHolder.getContext().getAuthentication();
+            }
+        };
+
+        new MockFilterChain(servlet, new SecurityContextPersistenceFilter(), new TokenAuthenticationFilter(tokenService))
+            .doFilter(request, new MockHttpServletResponse());
+        return seen[0];
+    }
+
+    private static Authentication authentication(String username) {
+        return new UsernamePasswordAuthenticationToken(username, null, List.of(new SimpleGrantedAuthority("ROLE_USER")));
+    }
+}
@@ -0,0 +1,80 @@
+package com.academydevdojo.springboot.security;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.Transient;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "c2VjcmV0LWtleS11c2VkLW9ubHktaW4tdGhlLXRva2VuLXRlc3Q=";
+
+    private final TokenService tokenService = new TokenService(SECRET, Duration.ofMinutes(15));
+
+    @Test
+    @DisplayName("Should Restore Username And Authorities From A Valid Token")
+    void verify_return_authentication_when_token_is_valid() {
+
+        String token = tokenService.issue(authentication("ROLE_ADMIN", "ROLE_USER"));
+
+        Authentication authentication = tokenService.verify(token).orElseThrow();
+
+        Assertions.assertThat(authentication.getName()).isEqualTo("Diogo Costa");
+        Assertions.assertThat(authentication.isAuthenticated()).isTrue();
+        Assertions.assertThat(authentication.getClass()).hasAnnotation(Transient.class);
+        Assertions.assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+            .containsExactly("ROLE_ADMIN", "ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("Should Reject A Token Whose Payload Was Tampered With")
+    void verify_return_empty_when_payload_is_tampered() {
+
+        String token = tokenService.issue(authentication("ROLE_USER"));
+        String forged = tokenService.issue(authentication("ROLE_ADMIN", "ROLE_USER"));
+        String tampered = forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        Assertions.assertThat(tokenService.verify(tampered)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should Reject A Token Signed With Another Key")
+    void verify_return_empty_when_signed_with_another_key() {
+
+        String token = new TokenService("", Duration.ofMinutes(15)).issue(authentication("ROLE_USER"));
+
+        Assertions.assertThat(tokenService.verify(token)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should Reject An Expired Token")
+    void verify_return_empty_when_token_is_expired() {
+
+        TokenService expiredTokenService = new TokenService(SECRET, Duration.ofSeconds(-1));
+
+        Assertions.assertThat(tokenService.verify(expiredTokenService.issue(authentication("ROLE_USER")))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should Reject Malformed Tokens")
+    void verify_return_empty_when_token_is_malformed() {
+
+        Assertions.assertThat(tokenService.verify("not-a-token")).isEmpty();
+        Assertions.assertThat(tokenService.verify("@@@.###")).isEmpty();
+    }
+
+    private static Authentication authentication(String... authorities) {
+        List<SimpleGrantedAuthority> grantedAuthorities = Arrays.stream(authorities)
+            .map(SimpleGrantedAuthority::new)
+            .collect(Collectors.toList());
+        return new UsernamePasswordAuthenticationToken("Diogo Costa", null, grantedAuthorities);
+    }
+}
@@ -0,0 +1,111 @@
+package com.academydevdojo.springboot.service;
+
+import com.academydevdojo.springboot.config.CachingConfig;
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.domain.AnimeTombstone;
+import com.academydevdojo.springboot.event.AnimeChangedEvent;
+import com.academydevdojo.springboot.exception.BadRequestException;
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.academydevdojo.springboot.repository.AnimeTombstoneRepository;
+import com.academydevdojo.springboot.requests.AnimeBulkDeleteRequestBody;
+import com.academydevdojo.springboot.wrapper.DeleteReport;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AnimeBulkDeleteServiceTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AnimeRepository animeRepository;
+
+    @Autowired
+    private AnimeTombstoneRepository tombstoneRepository;
+
+    private final List<AnimeChangedEvent> events = new ArrayList<>();
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(CachingConfig.ANIMES);
+
+    private AnimeBulkDeleteService bulkDeleteService;
+
+    @BeforeEach
+    void setUp() {
+
+        animeRepository.deleteAllInBatch();
+        tombstoneRepository.deleteAllInBatch();
+        bulkDeleteService = new AnimeBulkDeleteService(animeRepository, tombstoneRepository, transactionManager,
+            event -> events.add((AnimeChangedEvent) event), cacheManager, 2);
+    }
+
+    @Test
+    @DisplayName("Should Delete The Given Ids In Batches And Report The Rows Removed")
+    void delete_remove_given_ids_in_batches() {
+
+        List<Integer> ids = save("Berserk", "Claymore", "Monster", "Naruto").stream()
+            .map(Anime::getId)
+            .collect(Collectors.toList());
+        cacheManager.getCache(CachingConfig.ANIMES).put(ids.get(0), "cached");
+
+        DeleteReport report = bulkDeleteService.delete(AnimeBulkDeleteRequestBody.builder()
+            .ids(Arrays.asList(ids.get(0), ids.get(1), ids.get(0), null, ids.get(2), -1))
+            .build());
+
+        Assertions.assertThat(report.getDeleted()).isEqualTo(3);
+        Assertions.assertThat(report.getBatches()).isEqualTo(2);
+        Assertions.assertThat(animeRepository.findAll()).extracting(Anime::getName).containsExactly("Naruto");
+        Assertions.assertThat(cacheManager.getCache(CachingConfig.ANIMES).get(ids.get(0))).isNull();
+        Assertions.assertThat(events).extracting(AnimeChangedEvent::getId)
+            .containsExactlyInAnyOrder(ids.get(0), ids.get(1), ids.get(2));
+        Assertions.assertThat(tombstoneRepository.findAll()).extracting(AnimeTombstone::getAnimeId)
+            .containsExactlyInAnyOrder(ids.get(0), ids.get(1), ids.get(2));
+    }
+
+    @Test
+    @DisplayName("Should Delete Every Anime With The Given Name In Batches")
+    void delete_remove_animes_by_name_in_batches() {
+
+        save("Berserk", "Claymore", "Berserk", "Berserk", "Monster", "Berserk");
+
+        DeleteReport report = bulkDeleteService.delete(AnimeBulkDeleteRequestBody.builder().name("Berserk").build());
+
+        Assertions.assertThat(report.getDeleted()).isEqualTo(4);
+        Assertions.assertThat(report.getBatches()).isEqualTo(2);
+        Assertions.assertThat(animeRepository.findAll()).extracting(Anime::getName)
+            .containsExactlyInAnyOrder("Claymore", "Monster");
+        Assertions.assertThat(events).hasSize(4);
+        Assertions.assertThat(tombstoneRepository.findAll()).extracting(AnimeTombstone::getAnimeId)
+            .containsExactlyInAnyOrderElementsOf(events.stream().map(AnimeChangedEvent::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    @DisplayName("Should Throw BadRequestException When Neither Or Both Of Ids And Name Are Given")
+    void delete_throw_bad_request_when_filter_is_ambiguous() {
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+            .isThrownBy(() -> bulkDeleteService.delete(new AnimeBulkDeleteRequestBody()));
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+            .isThrownBy(() -> bulkDeleteService.delete(new AnimeBulkDeleteRequestBody(List.of(1), "Berserk")));
+    }
+
+    private List<Anime> save(String... names) {
+        return animeRepository.saveAll(Arrays.stream(names)
+            .map(name -> Anime.builder().name(name).build())
+            .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,146 @@
+package com.academydevdojo.springboot.service;
+
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.domain.AnimeTombstone;
+import com.academydevdojo.springboot.exception.ResyncRequiredException;
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.academydevdojo.springboot.repository.AnimeTombstoneRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+@DataJpaTest
+class AnimeChangeFeedServiceTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+
+    @Autowired
+    private AnimeRepository animeRepository;
+
+    @Autowired
+    private AnimeTombstoneRepository tombstoneRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private AnimeChangeFeedService changeFeedService;
+
+    @BeforeEach
+    void setUp() {
+
+        animeRepository.deleteAllInBatch();
+        tombstoneRepository.deleteAllInBatch();
+        changeFeedService = new AnimeChangeFeedService(animeRepository, tombstoneRepository, entityManager,
+            objectMapper, Duration.ofSeconds(10), Duration.ofDays(7));
+    }
+
+    @AfterEach
+    void tearDown() {
+        changeFeedService.destroy();
+    }
+
+    @Test
+    @DisplayName("Should Stream Only The Animes Written And Deleted After The Watermark")
+    void writeChanges_stream_changes_after_watermark() throws IOException {
+
+        animeRepository.saveAndFlush(Anime.builder().name("Berserk").build());
+        Anime claymore = animeRepository.saveAndFlush(Anime.builder().name("Claymore").build());
+        Anime monster = animeRepository.saveAndFlush(Anime.builder().name("Monster").build());
+        Instant since = monster.getLastModified();
+
+        animeRepository.updateName(claymore.getId(), "Claymore 2", null, Anime.modificationTime());
+        Anime naruto = animeRepository.saveAndFlush(Anime.builder().name("Naruto").build());
+        animeRepository.deleteRow(monster.getId());
+        tombstoneRepository.saveAll(AnimeTombstone.of(List.of(monster.getId())));
+
+        List<JsonNode> changes = writeChanges(since);
+
+        Assertions.assertThat(changes).extracting(change -> change.get("type").asText())
+            .containsExactly("UPDATED", "CREATED", "DELETED");
+        Assertions.assertThat(changes.get(0).get("anime").get("name").asText()).isEqualTo("Claymore 2");
+        Assertions.assertThat(changes.get(1).get("anime").get("id").asInt()).isEqualTo(naruto.getId());
+        Assertions.assertThat(changes.get(2).get("id").asInt()).isEqualTo(monster.getId());
+    }
+
+    @Test
+    @DisplayName("Should Stream Every Anime As Created And No Tombstones Without A Watermark")
+    void writeChanges_stream_whole_catalog_without_watermark() throws IOException {
+
+        animeRepository.saveAndFlush(Anime.builder().name("Berserk").build());
+        tombstoneRepository.saveAll(AnimeTombstone.of(List.of(-1)));
+
+        List<JsonNode> changes = writeChanges(null);
+
+        Assertions.assertThat(changes).hasSize(1);
+        Assertions.assertThat(changes.get(0).get("type").asText()).isEqualTo("CREATED");
+        Assertions.assertThat(changes.get(0).get("anime").get("name").asText()).isEqualTo("Berserk");
+    }
+
+    @Test
+    @DisplayName("Should Hand Back A Watermark That Trails The Clock And Never Moves Back")
+    void watermark_trail_clock_by_settle_time() {
+
+        Instant before = Instant.now().minusSeconds(10);
+        Instant future = Instant.now().plusSeconds(60);
+
+        Assertions.assertThat(changeFeedService.watermark(null)).isBetween(before.minusMillis(1), Instant.now());
+        Assertions.assertThat(changeFeedService.watermark(future)).isEqualTo(future);
+    }
+
+    @Test
+    @DisplayName("Should Ask For A Resync When The Watermark Is Older Than The Tombstones Kept")
+    void watermark_throw_ResyncRequiredException_past_tombstone_retention() {
+
+        Instant expired = Instant.now().minus(Duration.ofDays(8));
+
+        Assertions.assertThatExceptionOfType(ResyncRequiredException.class)
+            .isThrownBy(() -> changeFeedService.watermark(expired));
+    }
+
+    @Test
+    @DisplayName("Should Purge Only The Tombstones Past The Retention")
+    void purgeTombstones_delete_tombstones_past_retention() {
+
+        Instant now = Anime.modificationTime();
+        tombstoneRepository.saveAll(List.of(
+            AnimeTombstone.builder().animeId(1).deletedAt(now.minus(Duration.ofDays(8))).build(),
+            AnimeTombstone.builder().animeId(2).deletedAt(now.minus(Duration.ofDays(1))).build()));
+
+        int purged = changeFeedService.purgeTombstones();
+
+        Assertions.assertThat(purged).isEqualTo(1);
+        Assertions.assertThat(tombstoneRepository.findAll()).extracting(AnimeTombstone::getAnimeId).containsExactly(2);
+    }
+
+    private List<JsonNode> writeChanges(Instant since) throws IOException {
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        changeFeedService.writeChanges(since, outputStream);
+
+        List<JsonNode> changes = new ArrayList<>();
+        for (String line : outputStream.toString(StandardCharsets.UTF_8).split("\n")) {
+            if (!line.isEmpty()) {
+                changes.add(objectMapper.readTree(line));
+            }
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,141 @@
+package com.academydevdojo.springboot.service;
+
+import com.academydevdojo.springboot.event.AnimeChangedEvent;
+import com.academydevdojo.springboot.event.AnimeChangedEvent.Type;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class AnimeEventBroadcasterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AnimeEventBroadcaster broadcaster = new AnimeEventBroadcaster(new ObjectMapper(), meterRegistry,
+        3, 2, 1, Duration.ofHours(1), Duration.ofMinutes(1));
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.destroy();
+    }
+
+    @Test
+    @DisplayName("Should Push Committed Changes To Subscribers In Order")
+    void onAnimeChanged_push_changes_in_order() {
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.register(emitter, null);
+
+        broadcaster.onAnimeChanged(new AnimeChangedEvent(Type.CREATED, 1, "Naruto"));
+        broadcaster.onAnimeChanged(new AnimeChangedEvent(Type.DELETED, 1, null));
+
+        awaitTrue(() -> emitter.events.size() == 2);
+        Assertions.assertThat(emitter.events.get(0)).contains("event:CREATED").contains("\"name\":\"Naruto\"");
+        Assertions.assertThat(emitter.events.get(1)).contains("event:DELETED").contains("\"id\":1");
+    }
+
+    @Test
+    @DisplayName("Should Replay The Changes Missed Since The Last Event Id")
+    void register_replay_changes_after_last_event_id() {
+
+        RecordingEmitter first = new RecordingEmitter();
+        broadcaster.register(first, null);
+        broadcaster.onAnimeChanged(new AnimeChangedEvent(Type.CREATED, 1, "Naruto"));
+        awaitTrue(() -> first.events.size() == 1);
+        String lastEventId = first.lastEventId();
+
+        broadcaster.onAnimeChanged(new AnimeChangedEvent(Type.CREATED, 2, "Bleach"));
+        broadcaster.onAnimeChanged(new AnimeChangedEvent(Type.UPDATED, 2, "Bleach 2"));
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        broadcaster.register(resumed, lastEventId);
+
+        awaitTrue(() -> resumed.events.size() == 2);
+        Assertions.assertThat(resumed.events.get(0)).contains("event:CREATED").contains("\"name\":\"Bleach\"");
+        Assertions.assertThat(resumed.events.get(1)).contains("event:UPDATED").contains("\"name\":\"Bleach 2\"");
+    }
+
+    @Test
+    @DisplayName("Should Ask For A Resync When The Last Event Id Cannot Be Resumed From")
+    void register_send_reset_for_unknown_event_id() {
+
+        RecordingEmitter emitter = new RecordingEmitter();
+        broadcaster.register(emitter, "elsewhere-42");
+
+        awaitTrue(() -> emitter.events.size() == 1);
+        Assertions.assertThat(emitter.events.get(0)).contains("event:" + AnimeEventBroadcaster.RESET);
+    }
+
+    @Test
+    @DisplayName("Should Evict A Subscriber Whose Buffer Is Full")
+    void onAnimeChanged_evict_slow_subscriber() throws InterruptedException {
+
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        broadcaster.register(slow, null);
+
+        try {
+            for (int id = 1; id <= 5; id++) {
+                broadcaster.onAnimeChanged(new AnimeChangedEvent(Type.CREATED, id, "Naruto"));
+            }
+
+            Assertions.assertThat(meterRegistry.counter("anime.events.evicted").count()).isEqualTo(1);
+            Assertions.assertThat(meterRegistry.get("anime.events.subscribers").gauge().value()).isZero();
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            Assertions.assertThat(System.nanoTime()).as("condition met in time").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * Keeps the text of every event sent instead of writing it to a response.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+
+        RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            events.add(builder.build().stream()
+                .map(data -> data.getData().toString())
+                .collect(Collectors.joining()));
+        }
+
+        String lastEventId() {
+            String event = events.get(events.size() - 1);
+            return event.substring(event.indexOf("id:") + 3, event.indexOf('\n'));
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.academydevdojo.springboot.service;
+
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.academydevdojo.springboot.service.AnimeImportService.Format;
+import com.academydevdojo.springboot.wrapper.ImportReport;
+import com.academydevdojo.springboot.wrapper.ImportReport.RowError;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import javax.persistence.EntityManager;
+import javax.validation.Validation;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AnimeImportServiceTest {
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private AnimeRepository animeRepository;
+
+    private AnimeImportService importService;
+
+    @BeforeEach
+    void setUp() {
+
+        animeRepository.deleteAllInBatch();
+        importService = new AnimeImportService(entityManager, transactionManager, new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator(), 2);
+    }
+
+    @Test
+    @DisplayName("Should Import Every Valid NDJSON Row And Report The Invalid Ones")
+    void importAnimes_persist_valid_ndjson_rows_and_report_invalid_ones() throws IOException {
+
+        ImportReport report = importService.importAnimes(body(
+            "{\"name\":\"Berserk\"}\n"
+                + "{\"name\":\"\"}\n"
+                + "\n"
+                + "{\"name\":\"Claymore\"}\n"
+                + "not json\n"
+                + "{\"name\":\"Monster\"}\n"), Format.NDJSON);
+
+        Assertions.assertThat(report.getProcessed()).isEqualTo(5);
+        Assertions.assertThat(report.getImported()).isEqualTo(3);
+        Assertions.assertThat(report.getFailed()).isEqualTo(2);
+        Assertions.assertThat(report.getErrors()).extracting(RowError::getLine).containsExactly(2L, 5L);
+        Assertions.assertThat(animeRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should Import CSV Rows Skipping The Header And Unquoting Names")
+    void importAnimes_persist_csv_rows_skipping_header() throws IOException {
+
+        ImportReport report = importService.importAnimes(body("name\nBerserk\n\"Steins \"\"Gate\"\"\"\n"), Format.CSV);
+
+        Assertions.assertThat(report.getImported()).isEqualTo(2);
+        Assertions.assertThat(report.getFailed()).isZero();
+        Assertions.assertThat(animeRepository.findByName("Steins \"Gate\"")).hasSize(1);
+    }
+
+    private static InputStream body(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
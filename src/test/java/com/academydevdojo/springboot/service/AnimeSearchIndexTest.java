@@ -0,0 +1,97 @@
+package com.academydevdojo.springboot.service;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.event.AnimeChangedEvent;
+import com.academydevdojo.springboot.event.AnimeChangedEvent.Type;
+import com.academydevdojo.springboot.exception.BadRequestException;
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.academydevdojo.springboot.wrapper.AnimeSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class AnimeSearchIndexTest {
+
+    private final AnimeRepository repository = mock(AnimeRepository.class);
+    private AnimeSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+
+        index = new AnimeSearchIndex(repository, mock(EntityManager.class), mock(PlatformTransactionManager.class),
+            new SimpleMeterRegistry());
+
+        when(repository.streamAll()).thenReturn(Stream.of(
+            anime(1, "Steins;Gate"),
+            anime(2, "Steins;Gate 0"),
+            anime(3, "Naruto"),
+            anime(4, "Pokémon")));
+        index.load();
+    }
+
+    @Test
+    @DisplayName("Should Find Names Ignoring Case, Accents And Punctuation")
+    void search_match_normalized_query() {
+
+        Assertions.assertThat(index.search("steins gate", 10)).extracting(AnimeSummary::getId).startsWith(1);
+        Assertions.assertThat(index.search("POKEMON", 10)).extracting(AnimeSummary::getId).containsExactly(4);
+    }
+
+    @Test
+    @DisplayName("Should Rank Misspelled Queries By Similarity")
+    void search_rank_misspelled_query() {
+
+        Assertions.assertThat(index.search("stiens gate 0", 10)).extracting(AnimeSummary::getId).containsExactly(2, 1);
+        Assertions.assertThat(index.search("narutoo", 10)).extracting(AnimeSummary::getId).containsExactly(3);
+        Assertions.assertThat(index.search("bleach", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should Return At Most The Requested Number Of Results")
+    void search_limit_results() {
+
+        Assertions.assertThat(index.search("steins gate", 1)).extracting(AnimeSummary::getId).containsExactly(1);
+        Assertions.assertThat(index.search(" ;; ", 10)).isEmpty();
+        Assertions.assertThatExceptionOfType(BadRequestException.class).isThrownBy(() -> index.search("gate", 51));
+    }
+
+    @Test
+    @DisplayName("Should Follow Created, Renamed And Deleted Animes")
+    void onAnimeChanged_keep_index_in_sync() {
+
+        index.onAnimeChanged(new AnimeChangedEvent(Type.CREATED, 5, "Bleach"));
+        index.onAnimeChanged(new AnimeChangedEvent(Type.UPDATED, 3, "Berserk"));
+        index.onAnimeChanged(new AnimeChangedEvent(Type.DELETED, 4, "Pokémon"));
+
+        Assertions.assertThat(index.search("bleach", 10)).extracting(AnimeSummary::getId).containsExactly(5);
+        Assertions.assertThat(index.search("berserk", 10)).extracting(AnimeSummary::getId).containsExactly(3);
+        Assertions.assertThat(index.search("naruto", 10)).isEmpty();
+        Assertions.assertThat(index.search("pokemon", 10)).isEmpty();
+        Assertions.assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should Keep Results Correct After Dead Slots Are Compacted")
+    void search_after_compaction() {
+
+        for (int i = 0; i < 3000; i++) {
+            index.onAnimeChanged(new AnimeChangedEvent(Type.UPDATED, 3, "Naruto " + i));
+        }
+
+        Assertions.assertThat(index.search("naruto 2999", 10)).extracting(AnimeSummary::getName).containsExactly("Naruto 2999");
+        Assertions.assertThat(index.search("steins gate", 10)).extracting(AnimeSummary::getId).startsWith(1);
+        Assertions.assertThat(index.size()).isEqualTo(4);
+    }
+
+    private static Anime anime(int id, String name) {
+        return Anime.builder().id(id).name(name).build();
+    }
+}
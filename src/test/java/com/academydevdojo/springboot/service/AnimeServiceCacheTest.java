@@ -0,0 +1,177 @@
+package com.academydevdojo.springboot.service;
+
+import static com.academydevdojo.springboot.util.AnimeBuilder.createValidAnime;
+import static com.academydevdojo.springboot.util.AnimeBuilder.createValidUpdateAnime;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.academydevdojo.springboot.config.CachingConfig;
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.exception.BadRequestException;
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.academydevdojo.springboot.repository.AnimeTombstoneRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+@SpringJUnitConfig({CachingConfig.class, AnimeService.class, LookupCoalescer.class, SimpleMeterRegistry.class,
+    MissingAnimeIds.class})
+@TestPropertySource(properties = {
+    "anime.cache.animes.spec=maximumSize=100,expireAfterWrite=1m",
+    "anime.cache.authentications.spec=maximumSize=100,expireAfterWrite=1m",
+    "anime.cache.missing-animes.spec=maximumSize=100,expireAfterWrite=1m"
+})
+class AnimeServiceCacheTest {
+
+    @Autowired
+    private AnimeService service;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MissingAnimeIds missingAnimeIds;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @MockBean
+    private AnimeRepository repository;
+
+    @MockBean
+    private AnimeTombstoneRepository tombstoneRepository;
+
+    @BeforeEach
+    void setUp() {
+
+        cacheManager.getCache(CachingConfig.ANIMES).clear();
+        cacheManager.getCache(CachingConfig.MISSING_ANIMES).clear();
+
+        when(repository.findDetachedById(1)).thenReturn(Optional.of(createValidAnime()));
+    }
+
+    @Test
+    @DisplayName("Should Query The Repository Once When Anime Is Read Repeatedly")
+    void findById_hits_cache_on_repeated_reads() {
+
+        service.findById(1);
+        service.findById(1);
+
+        verify(repository, times(1)).findDetachedById(1);
+    }
+
+    @Test
+    @DisplayName("Should Hand Every Caller Its Own Copy Of A Cached Anime")
+    void findById_return_own_copy_per_caller() {
+
+        Anime first = service.findById(1);
+        first.setName("Changed By The Caller");
+        Anime second = service.findById(1);
+
+        Assertions.assertThat(second).isNotSameAs(first);
+        Assertions.assertThat(second.getName()).isEqualTo(createValidAnime().getName());
+        verify(repository, times(1)).findDetachedById(1);
+    }
+
+    @Test
+    @DisplayName("Should Reload Anime After It Is Updated")
+    void findById_reloads_anime_after_update() {
+
+        when(repository.updateName(ArgumentMatchers.eq(1), ArgumentMatchers.anyString(), ArgumentMatchers.any(),
+            ArgumentMatchers.any())).thenReturn(1);
+
+        service.findById(1);
+        service.update(createValidAnime(), null);
+        service.findById(1);
+
+        verify(repository, times(2)).findDetachedById(1);
+    }
+
+    @Test
+    @DisplayName("Should Reload Anime After It Is Deleted")
+    void findById_reloads_anime_after_delete() {
+
+        when(repository.deleteRow(1)).thenReturn(1);
+
+        service.findById(1);
+        service.delete(1);
+        service.findById(1);
+
+        verify(repository, times(2)).findDetachedById(1);
+    }
+
+    @Test
+    @DisplayName("Should Not Cache A Row Read Before A Concurrent Update Evicted It")
+    void findById_not_cache_row_loaded_before_concurrent_update() throws Exception {
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+        when(repository.findDetachedById(1)).thenAnswer(invocation -> {
+            if (loads.incrementAndGet() > 1) {
+                return Optional.of(createValidUpdateAnime());
+            }
+            loading.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(createValidAnime());
+        });
+        when(repository.updateName(ArgumentMatchers.eq(1), ArgumentMatchers.anyString(), ArgumentMatchers.any(),
+            ArgumentMatchers.any())).thenReturn(1);
+
+        CompletableFuture<Anime> beforeUpdate = CompletableFuture.supplyAsync(() -> service.findById(1));
+        Assertions.assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        service.update(createValidUpdateAnime(), null);
+
+        // joins the load that started before the update
+        CompletableFuture<Anime> afterUpdate = CompletableFuture.supplyAsync(() -> service.findById(1));
+        while (meterRegistry.counter("anime.lookups", "operation", "findById", "result", "coalesced").count() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+        beforeUpdate.get(5, TimeUnit.SECONDS);
+        afterUpdate.get(5, TimeUnit.SECONDS);
+
+        Assertions.assertThat(service.findById(1).getName()).isEqualTo(createValidUpdateAnime().getName());
+        verify(repository, times(2)).findDetachedById(1);
+    }
+
+    @Test
+    @DisplayName("Should Query The Repository Once When A Missing Anime Is Read Repeatedly")
+    void findById_remembers_missing_anime() {
+
+        when(repository.findDetachedById(2)).thenReturn(Optional.empty());
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class).isThrownBy(() -> service.findById(2));
+        Assertions.assertThatExceptionOfType(BadRequestException.class).isThrownBy(() -> service.findById(2));
+
+        verify(repository, times(1)).findDetachedById(2);
+    }
+
+    @Test
+    @DisplayName("Should Look A Missing Anime Up Again Once It Is Inserted")
+    void findById_forgets_missing_anime_when_inserted() {
+
+        when(repository.findDetachedById(2)).thenReturn(Optional.empty());
+        Assertions.assertThatExceptionOfType(BadRequestException.class).isThrownBy(() -> service.findById(2));
+
+        missingAnimeIds.forget(Anime.builder().id(2).name("Berserk").build());
+        Assertions.assertThatExceptionOfType(BadRequestException.class).isThrownBy(() -> service.findById(2));
+
+        verify(repository, times(2)).findDetachedById(2);
+    }
+}
@@ -4,14 +4,30 @@ import static com.academydevdojo.springboot.util.AnimeBuilder.createAnimeToBeSav
 import static com.academydevdojo.springboot.util.AnimeBuilder.createValidAnime;
 import static com.academydevdojo.springboot.util.AnimeBuilder.createValidUpdateAnime;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.domain.AnimeTombstone;
+import com.academydevdojo.springboot.event.AnimeChangedEvent;
+import com.academydevdojo.springboot.event.AnimeChangedEvent.Type;
 import com.academydevdojo.springboot.exception.BadRequestException;
 import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.academydevdojo.springboot.repository.AnimeTombstoneRepository;
+import com.academydevdojo.springboot.requests.AnimePatchRequestBody;
+import com.academydevdojo.springboot.util.AnimeCursor;
+import com.academydevdojo.springboot.util.AnimeCursor.SortKey;
+import com.academydevdojo.springboot.wrapper.CursorPage;
+import com.academydevdojo.springboot.wrapper.MultiGetResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -20,6 +36,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -34,24 +53,36 @@ class AnimeServiceTest {
     @Mock
    private AnimeRepository repository;
 
+    @Mock
+    private AnimeTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private MissingAnimeIds missingAnimeIds;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private LookupCoalescer lookupCoalescer = new LookupCoalescer(new SimpleMeterRegistry());
+
     @BeforeEach
     void setUp() {
 
         PageImpl<Anime> animePage = new PageImpl<>(List.of(createValidAnime()));
-        when(repository.findAll(ArgumentMatchers.any(PageRequest.class))).thenReturn(animePage);
+        when(repository.findDetachedBy(ArgumentMatchers.any(PageRequest.class))).thenReturn(animePage);
 
-        when(repository.findById(ArgumentMatchers.anyInt()))
+        when(repository.findDetachedById(ArgumentMatchers.anyInt()))
             .thenReturn(Optional.of(createValidAnime()));
 
         when(repository.findByName(ArgumentMatchers.anyString()))
             .thenReturn(List.of(createValidAnime()));
 
-        when(repository.save(ArgumentMatchers.any(Anime.class)))
+        when(repository.saveAndFlush(ArgumentMatchers.any(Anime.class)))
             .thenReturn(createValidAnime());
 
         doNothing().when(repository).delete(ArgumentMatchers.any(Anime.class));
 
-        when(repository.save(createValidAnime())).thenReturn(createValidUpdateAnime());
+        when(repository.saveAndFlush(createValidAnime())).thenReturn(createValidUpdateAnime());
 
     }
 
@@ -68,6 +99,43 @@ class AnimeServiceTest {
 
     }
 
+    @Test
+    @DisplayName("Should Return Cursor Page With Next Cursor When There Are More Animes")
+    void listByCursor_return_next_cursor_when_there_are_more_animes() {
+
+        when(repository.findByIdGreaterThanOrderByIdAsc(ArgumentMatchers.anyInt(), ArgumentMatchers.any()))
+            .thenReturn(List.of(createValidAnime(), Anime.builder().id(2).name("Naruto").build()));
+
+        CursorPage<Anime> animePage = service.listByCursor(null, "id", 1);
+
+        Assertions.assertThat(animePage.getContent()).hasSize(1);
+        Assertions.assertThat(animePage.getNextCursor()).isNotNull();
+        Assertions.assertThat(AnimeCursor.decode(animePage.getNextCursor()).getLastId())
+            .isEqualTo(createValidAnime().getId());
+    }
+
+    @Test
+    @DisplayName("Should Return Cursor Page Without Next Cursor On Last Page")
+    void listByCursor_return_no_next_cursor_on_last_page() {
+
+        when(repository.findByNameAndIdAfter(ArgumentMatchers.anyString(), ArgumentMatchers.anyInt(),
+            ArgumentMatchers.any())).thenReturn(List.of(createValidAnime()));
+
+        String cursor = new AnimeCursor(SortKey.NAME, 0, "Beck").encode();
+        CursorPage<Anime> animePage = service.listByCursor(cursor, "id", 5);
+
+        Assertions.assertThat(animePage.getContent()).hasSize(1);
+        Assertions.assertThat(animePage.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should Return BadRequestException When Cursor Is Invalid")
+    void listByCursor_return_an_exception_when_cursor_is_invalid() {
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+            .isThrownBy(() -> service.listByCursor("not-a-cursor", "id", 5));
+    }
+
     @Test
     @DisplayName("Should Return Anime By Id")
     void findByIdOrThrowBadRequestException_return_anime_by_id() {
@@ -83,11 +151,62 @@ class AnimeServiceTest {
     @DisplayName("Should Return BadRequestException Anime By Id Is Not Found")
     void findByIdOrThrowBadRequestException_return_an_exception_when_id_not_found() {
 
-        when(repository.findById(ArgumentMatchers.anyInt()))
+        when(repository.findDetachedById(ArgumentMatchers.anyInt()))
             .thenReturn(Optional.empty());
 
         Assertions.assertThatExceptionOfType(BadRequestException.class)
             .isThrownBy(() -> service.findById(1));
+        verify(missingAnimeIds).remember(1);
+    }
+
+    @Test
+    @DisplayName("Should Reject A Known Missing Id Without Querying The Repository")
+    void findById_return_an_exception_without_query_when_id_is_known_missing() {
+
+        when(missingAnimeIds.isKnownMissing(1)).thenReturn(true);
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+            .isThrownBy(() -> service.findById(1));
+        verify(repository, never()).findDetachedById(ArgumentMatchers.anyInt());
+    }
+
+    @Test
+    @DisplayName("Should Return Animes In Request Order And Report Missing Ids")
+    void findAllById_return_animes_in_request_order_and_missing_ids() {
+
+        Anime first = Anime.builder().id(1).name("Naruto").build();
+        Anime third = Anime.builder().id(3).name("Bleach").build();
+        when(repository.findDetachedByIdIn(ArgumentMatchers.anyCollection())).thenReturn(List.of(first, third));
+
+        MultiGetResponse<Anime> response = service.findAllById(List.of(3, 2, 1, 3));
+
+        Assertions.assertThat(response.getContent()).containsExactly(third, first);
+        Assertions.assertThat(response.getMissingIds()).containsExactly(2);
+    }
+
+    @Test
+    @DisplayName("Should Split Large Id Sets Into Several In-Queries")
+    void findAllById_split_large_id_sets_into_chunks() {
+
+        List<Integer> ids = IntStream.rangeClosed(1, 1000).boxed().collect(Collectors.toList());
+        when(repository.findDetachedByIdIn(ArgumentMatchers.anyCollection())).thenReturn(Collections.emptyList());
+
+        MultiGetResponse<Anime> response = service.findAllById(ids);
+
+        verify(repository, times(2)).findDetachedByIdIn(ArgumentMatchers.anyCollection());
+        Assertions.assertThat(response.getContent()).isEmpty();
+        Assertions.assertThat(response.getMissingIds()).hasSize(1000);
+    }
+
+    @Test
+    @DisplayName("Should Throw BadRequestException When More Ids Are Requested Than Allowed")
+    void findAllById_throw_BadRequestException_when_too_many_ids() {
+
+        List<Integer> ids = IntStream.rangeClosed(1, 1001).boxed().collect(Collectors.toList());
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+            .isThrownBy(() -> service.findAllById(ids));
+        verify(repository, never()).findDetachedByIdIn(ArgumentMatchers.anyCollection());
     }
 
     @Test
@@ -101,11 +220,24 @@ class AnimeServiceTest {
         Assertions.assertThat(animes.get(0).getName()).isNotNull().isEqualTo(expectedName);
     }
 
+    @Test
+    @DisplayName("Should Return A List By Name That Coalesced Callers Cannot Modify")
+    void findByName_return_unmodifiable_list() {
+
+        when(repository.findByName(ArgumentMatchers.anyString()))
+            .thenReturn(new ArrayList<>(List.of(createValidAnime())));
+
+        List<Anime> animes = service.findByName("");
+
+        Assertions.assertThatExceptionOfType(UnsupportedOperationException.class)
+            .isThrownBy(animes::clear);
+    }
+
     @Test
     @DisplayName("Should Return Empty List When Anime Not Found")
     void findByName_return_empty_list_when_anime_not_found() {
 
-        when(service.findByName(ArgumentMatchers.anyString()))
+        when(repository.findByName(ArgumentMatchers.anyString()))
             .thenReturn(Collections.emptyList());
 
         List<Anime> animes = service.findByName("");
@@ -134,8 +266,26 @@ class AnimeServiceTest {
     @DisplayName("Should Delete Anime When Successful")
     void delete_anime_when_successful() {
 
+        when(repository.deleteRow(1)).thenReturn(1);
+
         Assertions.assertThatCode(() -> service.delete(1)).doesNotThrowAnyException();
 
+        verify(repository, never()).findById(ArgumentMatchers.anyInt());
+        verify(tombstoneRepository).saveAll(ArgumentMatchers.<List<AnimeTombstone>>argThat(tombstones ->
+            tombstones.size() == 1 && tombstones.get(0).getAnimeId() == 1));
+        verify(eventPublisher).publishEvent(new AnimeChangedEvent(Type.DELETED, 1, null));
+    }
+
+    @Test
+    @DisplayName("Should Throw BadRequestException And Remember The Id When Delete Matches No Row")
+    void delete_throw_bad_request_when_anime_not_found() {
+
+        when(repository.deleteRow(1)).thenReturn(0);
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class).isThrownBy(() -> service.delete(1));
+
+        verify(missingAnimeIds).remember(1);
+        verify(eventPublisher, never()).publishEvent(ArgumentMatchers.any());
     }
 
     @Test
@@ -154,4 +304,72 @@ class AnimeServiceTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Should Rename Anime With One Update And Publish The Change")
+    void patch_rename_anime_and_publish_change_when_successful() {
+
+        when(repository.updateName(ArgumentMatchers.eq(1), ArgumentMatchers.eq("Naruto"), ArgumentMatchers.isNull(),
+            ArgumentMatchers.any())).thenReturn(1);
+
+        service.patch(1, new AnimePatchRequestBody("Naruto"), null);
+
+        verify(repository, never()).findById(ArgumentMatchers.anyInt());
+        verify(eventPublisher).publishEvent(new AnimeChangedEvent(Type.UPDATED, 1, "Naruto"));
+    }
+
+    @Test
+    @DisplayName("Should Throw BadRequestException And Remember The Id When Patch Matches No Row")
+    void patch_throw_bad_request_when_anime_not_found() {
+
+        when(repository.updateName(ArgumentMatchers.eq(1), ArgumentMatchers.eq("Naruto"), ArgumentMatchers.isNull(),
+            ArgumentMatchers.any())).thenReturn(0);
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+            .isThrownBy(() -> service.patch(1, new AnimePatchRequestBody("Naruto"), null));
+
+        verify(missingAnimeIds).remember(1);
+        verify(eventPublisher, never()).publishEvent(ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("Should Throw BadRequestException When Patch Changes No Field")
+    void patch_throw_bad_request_when_no_field_is_given() {
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+            .isThrownBy(() -> service.patch(1, new AnimePatchRequestBody(), null));
+
+        verify(repository, never()).updateName(ArgumentMatchers.anyInt(), ArgumentMatchers.anyString(),
+            ArgumentMatchers.any(), ArgumentMatchers.any());
+    }
+
+    @Test
+    @DisplayName("Should Update Only The Version Required By If-Match, Ignoring The One In The Body")
+    void update_require_expected_version_when_given() {
+
+        Anime anime = createValidUpdateAnime();
+        anime.setVersion(1);
+        when(repository.updateName(ArgumentMatchers.eq(anime.getId()), ArgumentMatchers.eq(anime.getName()),
+            ArgumentMatchers.eq(3), ArgumentMatchers.any())).thenReturn(1);
+
+        service.update(anime, 3);
+
+        verify(eventPublisher).publishEvent(new AnimeChangedEvent(Type.UPDATED, anime.getId(), anime.getName()));
+    }
+
+    @Test
+    @DisplayName("Should Throw OptimisticLockingFailureException When The Version Is No Longer Current")
+    void update_throw_optimistic_locking_failure_when_version_is_stale() {
+
+        Anime anime = createValidUpdateAnime();
+        anime.setVersion(1);
+        when(repository.updateName(ArgumentMatchers.eq(anime.getId()), ArgumentMatchers.eq(anime.getName()),
+            ArgumentMatchers.eq(1), ArgumentMatchers.any())).thenReturn(0);
+        when(repository.existsById(anime.getId())).thenReturn(true);
+
+        Assertions.assertThatExceptionOfType(OptimisticLockingFailureException.class)
+            .isThrownBy(() -> service.update(anime, null));
+
+        verify(missingAnimeIds, never()).remember(ArgumentMatchers.anyInt());
+        verify(eventPublisher, never()).publishEvent(ArgumentMatchers.any());
+    }
+}
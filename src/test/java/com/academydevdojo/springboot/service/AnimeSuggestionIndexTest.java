@@ -0,0 +1,96 @@
+package com.academydevdojo.springboot.service;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.academydevdojo.springboot.domain.Anime;
+import com.academydevdojo.springboot.event.AnimeChangedEvent;
+import com.academydevdojo.springboot.event.AnimeChangedEvent.Type;
+import com.academydevdojo.springboot.exception.BadRequestException;
+import com.academydevdojo.springboot.repository.AnimeRepository;
+import com.academydevdojo.springboot.wrapper.AnimeSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class AnimeSuggestionIndexTest {
+
+    private final AnimeRepository repository = mock(AnimeRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AnimeSuggestionIndex index;
+
+    @BeforeEach
+    void setUp() {
+
+        index = new AnimeSuggestionIndex(repository, mock(EntityManager.class), mock(PlatformTransactionManager.class),
+            meterRegistry);
+
+        when(repository.streamAll()).thenReturn(Stream.of(
+            anime(1, "Naruto"),
+            anime(2, "Naruto Shippūden"),
+            anime(3, "Nana"),
+            anime(4, "Steins;Gate")));
+        index.load();
+    }
+
+    @Test
+    @DisplayName("Should Suggest Names By Prefix Ignoring Case, Accents And Punctuation")
+    void suggest_match_normalized_prefix() {
+
+        Assertions.assertThat(index.suggest("NARUTO s", 10)).extracting(AnimeSummary::getId).containsExactly(2);
+        Assertions.assertThat(index.suggest("naruto shippu", 10)).extracting(AnimeSummary::getId).containsExactly(2);
+        Assertions.assertThat(index.suggest("steins gate", 10)).extracting(AnimeSummary::getId).containsExactly(4);
+        Assertions.assertThat(index.suggest("na", 10)).extracting(AnimeSummary::getName)
+            .containsExactly("Nana", "Naruto", "Naruto Shippūden");
+    }
+
+    @Test
+    @DisplayName("Should Return At Most The Requested Number Of Suggestions")
+    void suggest_limit_results() {
+
+        Assertions.assertThat(index.suggest("na", 2)).hasSize(2);
+        Assertions.assertThat(index.suggest("  ", 2)).isEmpty();
+        Assertions.assertThatExceptionOfType(BadRequestException.class).isThrownBy(() -> index.suggest("na", 0));
+    }
+
+    @Test
+    @DisplayName("Should Follow Created, Renamed And Deleted Animes")
+    void onAnimeChanged_keep_index_in_sync() {
+
+        index.onAnimeChanged(new AnimeChangedEvent(Type.CREATED, 5, "Bleach"));
+        index.onAnimeChanged(new AnimeChangedEvent(Type.UPDATED, 3, "Berserk"));
+        index.onAnimeChanged(new AnimeChangedEvent(Type.DELETED, 1, "Naruto"));
+
+        Assertions.assertThat(index.suggest("b", 10)).extracting(AnimeSummary::getName).containsExactly("Berserk", "Bleach");
+        Assertions.assertThat(index.suggest("na", 10)).extracting(AnimeSummary::getName).containsExactly("Naruto Shippūden");
+    }
+
+    @Test
+    @DisplayName("Should Not Restore An Anime Deleted While The Index Is Loading")
+    void load_skip_animes_deleted_while_loading() {
+
+        when(repository.streamAll()).thenReturn(Stream.of(anime(7, "Claymore"))
+            .peek(anime -> index.onAnimeChanged(new AnimeChangedEvent(Type.DELETED, 7, "Claymore"))));
+
+        index.load();
+
+        Assertions.assertThat(index.suggest("clay", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should Report The Estimated Memory Used By The Index")
+    void load_report_memory_gauge() {
+
+        Assertions.assertThat(meterRegistry.get("anime.suggest.index.entries").gauge().value()).isEqualTo(4);
+        Assertions.assertThat(meterRegistry.get("anime.suggest.index.memory").gauge().value()).isPositive();
+    }
+
+    private static Anime anime(int id, String name) {
+        return Anime.builder().id(id).name(name).build();
+    }
+}
@@ -0,0 +1,117 @@
+package com.academydevdojo.springboot.service;
+
+import com.academydevdojo.springboot.exception.BadRequestException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LookupCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LookupCoalescer lookupCoalescer = new LookupCoalescer(meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Should Run One Load For Concurrent Lookups Of The Same Key")
+    void load_share_result_between_concurrent_callers() throws Exception {
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> lookupCoalescer.load("findById", 1, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "Naruto";
+        }), executor);
+        Assertions.assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> lookupCoalescer.load("findById", 1, () -> {
+            loads.incrementAndGet();
+            return "Bleach";
+        }), executor);
+        while (meterRegistry.counter("anime.lookups", "operation", "findById", "result", "coalesced").count() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        Assertions.assertThat(leader.get(5, TimeUnit.SECONDS)).isEqualTo("Naruto");
+        Assertions.assertThat(follower.get(5, TimeUnit.SECONDS)).isEqualTo("Naruto");
+        Assertions.assertThat(loads).hasValue(1);
+        Assertions.assertThat(meterRegistry.counter("anime.lookups", "operation", "findById", "result", "loaded").count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should Give Each Waiter Its Own Copy Of The Shared Result")
+    void load_give_waiters_own_copy() throws Exception {
+
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<StringBuilder> leader = CompletableFuture.supplyAsync(() -> lookupCoalescer.load("findById", 1,
+            () -> {
+                loading.countDown();
+                await(release);
+                return new StringBuilder("Naruto");
+            }, StringBuilder::new), executor);
+        Assertions.assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<StringBuilder> follower = CompletableFuture.supplyAsync(() -> lookupCoalescer.load("findById", 1,
+            () -> new StringBuilder("Bleach"), StringBuilder::new), executor);
+        while (meterRegistry.counter("anime.lookups", "operation", "findById", "result", "coalesced").count() == 0) {
+            Thread.onSpinWait();
+        }
+        release.countDown();
+
+        StringBuilder leaderResult = leader.get(5, TimeUnit.SECONDS);
+        StringBuilder followerResult = follower.get(5, TimeUnit.SECONDS);
+        leaderResult.append(" Shippuden");
+
+        Assertions.assertThat(followerResult).isNotSameAs(leaderResult).hasToString("Naruto");
+    }
+
+    @Test
+    @DisplayName("Should Load Again Once The Previous Load Has Finished")
+    void load_run_again_after_previous_load_finished() {
+
+        AtomicInteger loads = new AtomicInteger();
+
+        lookupCoalescer.load("findByName", "Naruto", loads::incrementAndGet);
+        lookupCoalescer.load("findByName", "Naruto", loads::incrementAndGet);
+
+        Assertions.assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should Rethrow The Exception Of A Failed Load")
+    void load_rethrow_exception_of_failed_load() {
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+            .isThrownBy(() -> lookupCoalescer.load("findById", 1, () -> {
+                throw new BadRequestException("Anime not found");
+            }));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
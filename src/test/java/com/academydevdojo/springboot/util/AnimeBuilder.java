@@ -16,6 +16,7 @@ public class AnimeBuilder {
         return Anime.builder()
             .id(1)
             .name("DBZ")
+            .version(0)
             .build();
     }
 
@@ -0,0 +1,34 @@
+package com.academydevdojo.springboot.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.function.Supplier;
+import org.assertj.core.api.Assertions;
+
+/**
+ * Pins the number of SQL statements Hibernate prepares while a request or service call runs, read
+ * from the {@code anime.sql.statements} counter, so an added round trip fails the build. A JDBC
+ * batch counts once; id blocks fetched by the table generator are not counted.
+ *
+ * <p>Requests run on the server's threads, so the counter is global rather than scoped to the
+ * caller, and the budgets assume no other database work is in flight. The background work of the
+ * application stays out of it: the outbox poller and purge go through plain JDBC, which Hibernate
+ * never sees, and the first tombstone purge runs an hour after start-up.
+ */
+public class SqlStatementCounter {
+
+    private final Counter statements;
+
+    public SqlStatementCounter(MeterRegistry meterRegistry) {
+        this.statements = meterRegistry.get("anime.sql.statements").counter();
+    }
+
+    public <T> T expect(long expectedStatements, Supplier<T> action) {
+        double before = statements.count();
+        T result = action.get();
+        Assertions.assertThat((long) (statements.count() - before))
+            .as("SQL statements issued")
+            .isEqualTo(expectedStatements);
+        return result;
+    }
+}